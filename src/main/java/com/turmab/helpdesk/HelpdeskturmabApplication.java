@@ -3,8 +3,10 @@ package com.turmab.helpdesk;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class HelpdeskturmabApplication implements CommandLineRunner {
 	
 	public static void main(String[] args) {
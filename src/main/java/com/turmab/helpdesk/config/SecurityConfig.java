@@ -1,12 +1,22 @@
 package com.turmab.helpdesk.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turmab.helpdesk.resources.ChamadoResource;
+import com.turmab.helpdesk.resources.ClienteResource;
 import com.turmab.helpdesk.security.JWTAuthenticationFilter;
 import com.turmab.helpdesk.security.JWTAuthorizationFilter;
+import com.turmab.helpdesk.security.HashSenhas;
 import com.turmab.helpdesk.security.JWTUtil;
+import com.turmab.helpdesk.security.LimitadorLogin;
+import com.turmab.helpdesk.security.RefreshTokens;
+import com.turmab.helpdesk.security.TokensRevogados;
+import com.turmab.helpdesk.security.TokensVerificados;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -15,6 +25,7 @@ import org.springframework.security.config.annotation.web.configuration.WebSecur
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -32,14 +43,26 @@ import java.util.Arrays;
 @EnableGlobalMethodSecurity(prePostEnabled = true)
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
-    private static final String[] PUBLIC_MATCHES = { "/h2-console/**" };
+    private static final String[] PUBLIC_MATCHES = { "/h2-console/**", "/actuator/health", "/auth/refresh" };
 
     @Autowired
     private Environment env;
     @Autowired
     private JWTUtil jwtUtil;
     @Autowired
+    private TokensVerificados tokensVerificados;
+    @Autowired
+    private RefreshTokens refreshTokens;
+    @Autowired
+    private TokensRevogados tokensRevogados;
+    @Autowired
+    private LimitadorLogin limitadorLogin;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
     private UserDetailsService userDetailsService;
+    @Autowired
+    private HashSenhas hashSenhas;
 
     @Override
     protected void configure(HttpSecurity http) throws Exception {
@@ -50,35 +73,46 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         http.cors().and().csrf().disable();
 
         // Filtro de AUTENTICAÇÃO: para o endpoint /login
-        http.addFilter(new JWTAuthenticationFilter(authenticationManager(), jwtUtil));
+        http.addFilter(new JWTAuthenticationFilter(authenticationManager(), jwtUtil, refreshTokens, limitadorLogin,
+                objectMapper));
         
         // Filtro de AUTORIZAÇÃO: para todos os outros endpoints
         // <-- ALTERAÇÃO AQUI: adicionamos o userDetailsService no construtor
-        http.addFilter(new JWTAuthorizationFilter(authenticationManager(), jwtUtil, userDetailsService));
+        http.addFilter(new JWTAuthorizationFilter(authenticationManager(), jwtUtil, tokensVerificados,
+                tokensRevogados, userDetailsService));
 
         http.authorizeRequests()
                 .antMatchers(PUBLIC_MATCHES).permitAll()
                 .anyRequest().authenticated();
 
+        // Sem token válido (ausente, inválido ou revogado) a resposta é 401; 403 fica para a falta de perfil
+        http.exceptionHandling().authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED));
+
         http.sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS);
     }
 
     @Override
     protected void configure(AuthenticationManagerBuilder auth) throws Exception {
-        auth.userDetailsService(userDetailsService).passwordEncoder(bCryptPasswordEncoder());
+        // O BCrypt do login roda no pool limitado de HashSenhas, fora das threads do Tomcat
+        auth.userDetailsService(userDetailsService).passwordEncoder(hashSenhas);
     }
 
     @Bean
     CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration().applyPermitDefaultValues();
-        configuration.setAllowedMethods(Arrays.asList("POST", "GET", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("POST", "GET", "PUT", "PATCH", "DELETE", "OPTIONS"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", RefreshTokens.HEADER, "ETag",
+                ChamadoResource.NEXT_CURSOR_HEADER, ClienteResource.TOTAL_COUNT_HEADER));
         final UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         return source;
     }
 
+    /**
+     * Estático para não depender da instância desta configuração (que usa o HashSenhas, que usa este bean).
+     */
     @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+    public static BCryptPasswordEncoder bCryptPasswordEncoder(@Value("${senhas.bcrypt.forca:10}") int forca) {
+        return new BCryptPasswordEncoder(forca);
     }
 }
\ No newline at end of file
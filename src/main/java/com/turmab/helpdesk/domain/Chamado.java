@@ -10,11 +10,24 @@ import java.time.LocalDate;
 import java.util.Objects;
 
 @Entity
+@Table(indexes = {
+        // Suporta a listagem por cursor (ORDER BY data_abertura, id) e o filtro por período
+        @Index(name = "idx_chamado_abertura_id", columnList = "dataAbertura, id"),
+        // Índices compostos dos filtros de GET /chamados
+        @Index(name = "idx_chamado_status_prioridade_abertura", columnList = "status, prioridade, dataAbertura"),
+        @Index(name = "idx_chamado_tecnico_status", columnList = "tecnico_id, status"),
+        @Index(name = "idx_chamado_cliente_status", columnList = "cliente_id, status")
+})
 public class Chamado implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    /**
+     * IDs alocados em blocos de uma sequence (otimizador pooled), o que permite ao Hibernate
+     * agrupar os INSERTs em lotes JDBC; com IDENTITY cada INSERT precisaria ir sozinho ao banco.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chamado_seq")
+    @SequenceGenerator(name = "chamado_seq", sequenceName = "chamado_seq", allocationSize = 50)
     private Integer id;
 
     @JsonFormat(pattern = "dd/MM/yyyy")
@@ -32,11 +45,18 @@ public class Chamado implements Serializable {
     private String titulo;
     private String observacoes;
 
-    @ManyToOne
+    /**
+     * Versão para controle de concorrência otimista: incrementada a cada UPDATE,
+     * que só é aplicado se a versão no banco ainda for a lida.
+     */
+    @Version
+    private Integer versao;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tecnico_id")
     private Tecnico tecnico;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cliente_id")
     private Cliente cliente;
 
@@ -113,6 +133,14 @@ public class Chamado implements Serializable {
         this.observacoes = observacoes;
     }
 
+    public Integer getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Integer versao) {
+        this.versao = versao;
+    }
+
     public Tecnico getTecnico() {
         return tecnico;
     }
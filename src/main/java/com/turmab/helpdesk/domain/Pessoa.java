@@ -2,19 +2,25 @@ package com.turmab.helpdesk.domain;
 
 import java.io.Serializable;
 import java.time.LocalDate;
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.Set;
 
-import javax.persistence.CollectionTable;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
-import javax.persistence.ElementCollection;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
-import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.turmab.helpdesk.domain.enums.ConversorPerfis;
 import com.turmab.helpdesk.domain.enums.Perfil;
 
 /**
@@ -27,11 +33,29 @@ import com.turmab.helpdesk.domain.enums.Perfil;
  * @since 2025-10-02
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Pessoa.REGIAO_CACHE)
+@NaturalIdCache(region = Pessoa.REGIAO_CACHE_EMAIL)
 public abstract class Pessoa implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Região do cache de segundo nível com as pessoas (técnicos e clientes), por ID.
+     * Limitada em ehcache.xml.
+     */
+    public static final String REGIAO_CACHE = "pessoa";
+
+    /**
+     * Região do cache de segundo nível com a resolução e-mail -> ID.
+     */
+    public static final String REGIAO_CACHE_EMAIL = "pessoa-email";
+
+    /**
+     * IDs alocados em blocos de uma sequence (otimizador pooled), permitindo INSERTs em lote.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pessoa_seq")
+    @SequenceGenerator(name = "pessoa_seq", sequenceName = "pessoa_seq", allocationSize = 50)
     protected Integer id;
 
     protected String nome;
@@ -39,6 +63,11 @@ public abstract class Pessoa implements Serializable {
     @Column(unique = true)
     protected String cpf;
 
+    /**
+     * Identificador natural (mutável) da pessoa: as buscas por e-mail usam a resolução
+     * e-mail -> ID do cache de segundo nível e depois a própria pessoa em cache.
+     */
+    @NaturalId(mutable = true)
     @Column(unique = true)
     protected String email;
 
@@ -46,15 +75,22 @@ public abstract class Pessoa implements Serializable {
 
     /**
      * Conjunto de perfis (roles) associados à pessoa.
-     * Armazenado como String no banco de dados (ex: "ADMIN", "CLIENTE").
+     * Armazenado na própria linha da pessoa, como uma máscara de bits ({@link ConversorPerfis}),
+     * sem tabela auxiliar nem JOIN ao carregar a pessoa.
      */
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "PERFIS")
-    protected Set<Perfil> perfis = new HashSet<>();
+    @Convert(converter = ConversorPerfis.class)
+    @Column(nullable = false)
+    protected Set<Perfil> perfis = EnumSet.noneOf(Perfil.class);
 
     @JsonFormat(pattern = "dd/MM/yyyy")
     protected LocalDate dataCriacao = LocalDate.now();
 
+    /**
+     * Versão das credenciais, incrementada a cada alteração da pessoa.
+     * Tokens JWT emitidos com uma versão anterior deixam de ser aceitos.
+     */
+    protected Integer versaoCredenciais = 0;
+
     /**
      * Construtor padrão. Adiciona o perfil de CLIENTE como padrão.
      */
@@ -147,6 +183,14 @@ public abstract class Pessoa implements Serializable {
         this.dataCriacao = dataCriacao;
     }
 
+    public Integer getVersaoCredenciais() {
+        return versaoCredenciais;
+    }
+
+    public void setVersaoCredenciais(Integer versaoCredenciais) {
+        this.versaoCredenciais = versaoCredenciais;
+    }
+
     // --- EQUALS E HASHCODE (baseado em ID e CPF) ---
 
     @Override
@@ -0,0 +1,63 @@
+package com.turmab.helpdesk.domain;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Token JWT revogado (logout ou revogação pelo administrador), identificado pelo seu jti.
+ * O registro só precisa existir até a expiração do próprio token, depois disso é removido.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_token_revogado_expira", columnList = "expiraEm"))
+public class TokenRevogado implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private String jti;
+
+    private Instant expiraEm;
+
+    public TokenRevogado() {
+        super();
+    }
+
+    public TokenRevogado(String jti, Instant expiraEm) {
+        super();
+        this.jti = jti;
+        this.expiraEm = expiraEm;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+
+    public Instant getExpiraEm() {
+        return expiraEm;
+    }
+
+    public void setExpiraEm(Instant expiraEm) {
+        this.expiraEm = expiraEm;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TokenRevogado that = (TokenRevogado) o;
+        return Objects.equals(jti, that.jti);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(jti);
+    }
+}
@@ -0,0 +1,84 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import com.turmab.helpdesk.domain.enums.Prioridade;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Carga de trabalho de um técnico: a quantidade de chamados ABERTO e em ANDAMENTO atribuídos a ele,
+ * no total e por prioridade. Usado pelo despacho para escolher o técnico de um novo chamado.
+ */
+public class CargaTecnicoDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Integer id;
+    private String nome;
+    private long abertos;
+    private long emAndamento;
+    private Map<String, Long> prioridades = new LinkedHashMap<>();
+
+    public CargaTecnicoDTO() {
+        super();
+        for (Prioridade p : Prioridade.values()) {
+            prioridades.put(p.getDescricao(), 0L);
+        }
+    }
+
+    public CargaTecnicoDTO(Integer id, String nome) {
+        this();
+        this.id = id;
+        this.nome = nome;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public long getAbertos() {
+        return abertos;
+    }
+
+    public void setAbertos(long abertos) {
+        this.abertos = abertos;
+    }
+
+    public long getEmAndamento() {
+        return emAndamento;
+    }
+
+    public void setEmAndamento(long emAndamento) {
+        this.emAndamento = emAndamento;
+    }
+
+    /**
+     * @return A soma dos chamados ABERTO e em ANDAMENTO.
+     */
+    public long getTotal() {
+        return abertos + emAndamento;
+    }
+
+    /**
+     * @return Prioridade -> quantidade de chamados ABERTO/ANDAMENTO com essa prioridade.
+     */
+    public Map<String, Long> getPrioridades() {
+        return prioridades;
+    }
+
+    public void setPrioridades(Map<String, Long> prioridades) {
+        this.prioridades = prioridades;
+    }
+}
@@ -2,6 +2,8 @@ package com.turmab.helpdesk.domain.dtos;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.turmab.helpdesk.domain.Chamado;
+import com.turmab.helpdesk.domain.enums.Prioridade;
+import com.turmab.helpdesk.domain.enums.Status;
 
 import javax.validation.constraints.NotNull;
 import java.io.Serializable;
@@ -82,6 +84,11 @@ public class ChamadoDTO implements Serializable {
      */
     private String nomeCliente;
 
+    /**
+     * Versão do chamado, usada no controle de concorrência otimista (preenchido na resposta).
+     */
+    private Integer versao;
+
     /**
      * Construtor padrão.
      */
@@ -107,6 +114,41 @@ public class ChamadoDTO implements Serializable {
         this.cliente = obj.getCliente().getId();
         this.nomeTecnico = obj.getTecnico().getNome();
         this.nomeCliente = obj.getCliente().getNome();
+        this.versao = obj.getVersao();
+    }
+
+    /**
+     * Construtor usado pelas consultas de projeção do ChamadoRepository (SELECT new ...).
+     * Recebe apenas as colunas necessárias, sem carregar as entidades Tecnico e Cliente.
+     *
+     * @param id O ID do chamado.
+     * @param dataAbertura A data de abertura.
+     * @param dataFechamento A data de fechamento.
+     * @param prioridade A prioridade do chamado.
+     * @param status O status do chamado.
+     * @param titulo O título do chamado.
+     * @param observacoes As observações do chamado.
+     * @param tecnico O ID do técnico.
+     * @param nomeTecnico O nome do técnico.
+     * @param cliente O ID do cliente.
+     * @param nomeCliente O nome do cliente.
+     * @param versao A versão do chamado.
+     */
+    public ChamadoDTO(Integer id, LocalDate dataAbertura, LocalDate dataFechamento, Prioridade prioridade,
+                      Status status, String titulo, String observacoes, Integer tecnico, String nomeTecnico,
+                      Integer cliente, String nomeCliente, Integer versao) {
+        this.id = id;
+        this.dataAbertura = dataAbertura;
+        this.dataFechamento = dataFechamento;
+        this.prioridade = prioridade.getCodigo();
+        this.status = status.getCodigo();
+        this.titulo = titulo;
+        this.observacoes = observacoes;
+        this.tecnico = tecnico;
+        this.nomeTecnico = nomeTecnico;
+        this.cliente = cliente;
+        this.nomeCliente = nomeCliente;
+        this.versao = versao;
     }
 
     // --- GETTERS E SETTERS ---
@@ -242,4 +284,16 @@ public class ChamadoDTO implements Serializable {
      * @param nomeCliente O novo nome do cliente.
      */
     public void setNomeCliente(String nomeCliente) { this.nomeCliente = nomeCliente; }
+
+    /**
+     * Obtém a versão do chamado.
+     * @return A versão do chamado.
+     */
+    public Integer getVersao() { return versao; }
+
+    /**
+     * Define a versão do chamado.
+     * @param versao A nova versão do chamado.
+     */
+    public void setVersao(Integer versao) { this.versao = versao; }
 }
\ No newline at end of file
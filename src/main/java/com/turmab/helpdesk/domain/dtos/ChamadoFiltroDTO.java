@@ -0,0 +1,83 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Critérios opcionais de filtragem da listagem de chamados.
+ * Preenchido a partir dos parâmetros de consulta de GET /chamados; campos nulos são ignorados.
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @since 2025-10-02
+ */
+public class ChamadoFiltroDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Código do status (0-ABERTO, 1-ANDAMENTO, 2-ENCERRADO).
+     */
+    private Integer status;
+
+    /**
+     * Código da prioridade (0-BAIXA, 1-MEDIA, 2-ALTA).
+     */
+    private Integer prioridade;
+
+    /**
+     * ID do técnico responsável.
+     */
+    private Integer tecnico;
+
+    /**
+     * ID do cliente que abriu o chamado.
+     */
+    private Integer cliente;
+
+    /**
+     * Data de abertura mínima (inclusiva).
+     */
+    @DateTimeFormat(pattern = "dd/MM/yyyy")
+    private LocalDate abertoDe;
+
+    /**
+     * Data de abertura máxima (inclusiva).
+     */
+    @DateTimeFormat(pattern = "dd/MM/yyyy")
+    private LocalDate abertoAte;
+
+    /**
+     * Indica se nenhum critério foi informado.
+     * @return true se todos os campos forem nulos.
+     */
+    public boolean isVazio() {
+        return status == null && prioridade == null && tecnico == null && cliente == null
+                && abertoDe == null && abertoAte == null;
+    }
+
+    public Integer getStatus() { return status; }
+
+    public void setStatus(Integer status) { this.status = status; }
+
+    public Integer getPrioridade() { return prioridade; }
+
+    public void setPrioridade(Integer prioridade) { this.prioridade = prioridade; }
+
+    public Integer getTecnico() { return tecnico; }
+
+    public void setTecnico(Integer tecnico) { this.tecnico = tecnico; }
+
+    public Integer getCliente() { return cliente; }
+
+    public void setCliente(Integer cliente) { this.cliente = cliente; }
+
+    public LocalDate getAbertoDe() { return abertoDe; }
+
+    public void setAbertoDe(LocalDate abertoDe) { this.abertoDe = abertoDe; }
+
+    public LocalDate getAbertoAte() { return abertoAte; }
+
+    public void setAbertoAte(LocalDate abertoAte) { this.abertoAte = abertoAte; }
+}
@@ -0,0 +1,62 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+
+/**
+ * DTO para a alteração parcial (PATCH) de um chamado.
+ * Apenas os campos não nulos são alterados; a versão é obrigatória e deve ser a última lida pelo cliente.
+ *
+ * @author Seu Nome
+ * @version 1.0
+ * @since 2025-10-02
+ */
+public class ChamadoPatchDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Novo código de prioridade (0-BAIXA, 1-MEDIA, 2-ALTA).
+     */
+    private Integer prioridade;
+
+    /**
+     * Novo código de status (0-ABERTO, 1-ANDAMENTO, 2-ENCERRADO).
+     */
+    private Integer status;
+
+    /**
+     * Novo título.
+     */
+    private String titulo;
+
+    /**
+     * Novas observações.
+     */
+    private String observacoes;
+
+    /**
+     * Versão do chamado sobre a qual a alteração foi feita.
+     */
+    @NotNull(message = "O campo VERSÃO é requerido")
+    private Integer versao;
+
+    public Integer getPrioridade() { return prioridade; }
+
+    public void setPrioridade(Integer prioridade) { this.prioridade = prioridade; }
+
+    public Integer getStatus() { return status; }
+
+    public void setStatus(Integer status) { this.status = status; }
+
+    public String getTitulo() { return titulo; }
+
+    public void setTitulo(String titulo) { this.titulo = titulo; }
+
+    public String getObservacoes() { return observacoes; }
+
+    public void setObservacoes(String observacoes) { this.observacoes = observacoes; }
+
+    public Integer getVersao() { return versao; }
+
+    public void setVersao(Integer versao) { this.versao = versao; }
+}
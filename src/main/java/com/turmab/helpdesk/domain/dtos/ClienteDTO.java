@@ -65,6 +65,25 @@ public class ClienteDTO implements Serializable {
         this.dataCriacao = obj.getDataCriacao();
     }
 
+    /**
+     * Construtor usado pela projeção das listagens: apenas as colunas exibidas, sem a senha.
+     * @param id O ID.
+     * @param nome O nome.
+     * @param cpf O CPF.
+     * @param email O e-mail.
+     * @param dataCriacao A data de criação.
+     * @param perfis Os perfis.
+     */
+    public ClienteDTO(Integer id, String nome, String cpf, String email, LocalDate dataCriacao, Set<Perfil> perfis) {
+        super();
+        this.id = id;
+        this.nome = nome;
+        this.cpf = cpf;
+        this.email = email;
+        this.dataCriacao = dataCriacao;
+        this.perfis = perfis.stream().map(Perfil::getCodigo).collect(Collectors.toSet());
+    }
+
     // GETTERS E SETTERS
 
     public Integer getId() {
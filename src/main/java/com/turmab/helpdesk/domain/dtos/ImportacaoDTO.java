@@ -0,0 +1,87 @@
+package com.turmab.helpdesk.domain.dtos;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Relatório de uma importação em massa de técnicos ou clientes a partir de um CSV.
+ * Traz a quantidade de linhas lidas e importadas e, para cada linha recusada, o número da linha
+ * no arquivo e o motivo (limitado aos primeiros erros; {@code totalErros} traz a contagem completa).
+ */
+public class ImportacaoDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private int linhas;
+    private int importados;
+    private int totalErros;
+    private List<Erro> erros = new ArrayList<>();
+
+    public int getLinhas() {
+        return linhas;
+    }
+
+    public void setLinhas(int linhas) {
+        this.linhas = linhas;
+    }
+
+    public int getImportados() {
+        return importados;
+    }
+
+    public void setImportados(int importados) {
+        this.importados = importados;
+    }
+
+    public int getTotalErros() {
+        return totalErros;
+    }
+
+    public void setTotalErros(int totalErros) {
+        this.totalErros = totalErros;
+    }
+
+    public List<Erro> getErros() {
+        return erros;
+    }
+
+    public void setErros(List<Erro> erros) {
+        this.erros = erros;
+    }
+
+    /**
+     * Uma linha recusada do arquivo.
+     */
+    public static class Erro implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private int linha;
+        private String mensagem;
+
+        public Erro() {
+            super();
+        }
+
+        public Erro(int linha, String mensagem) {
+            super();
+            this.linha = linha;
+            this.mensagem = mensagem;
+        }
+
+        public int getLinha() {
+            return linha;
+        }
+
+        public void setLinha(int linha) {
+            this.linha = linha;
+        }
+
+        public String getMensagem() {
+            return mensagem;
+        }
+
+        public void setMensagem(String mensagem) {
+            this.mensagem = mensagem;
+        }
+    }
+}
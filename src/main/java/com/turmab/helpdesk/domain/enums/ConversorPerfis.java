@@ -0,0 +1,25 @@
+package com.turmab.helpdesk.domain.enums;
+
+import java.util.Set;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Grava o conjunto de perfis de uma pessoa como uma única coluna inteira, uma máscara de bits
+ * com o bit <code>1 &lt;&lt; codigo</code> de cada {@link Perfil} (ADMIN = 1, CLIENTE = 2, TECNICO = 4).
+ * Os códigos dos perfis não podem mudar sem migrar os dados.
+ */
+@Converter
+public class ConversorPerfis implements AttributeConverter<Set<Perfil>, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(Set<Perfil> perfis) {
+        return perfis == null ? 0 : Perfil.mascara(perfis);
+    }
+
+    @Override
+    public Set<Perfil> convertToEntityAttribute(Integer mascara) {
+        return Perfil.daMascara(mascara == null ? 0 : mascara);
+    }
+}
@@ -1,5 +1,8 @@
 package com.turmab.helpdesk.domain.enums;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Enum que representa os perfis (roles) de usuário no sistema.
  * Cada perfil tem um código numérico e uma descrição textual.
@@ -46,4 +49,39 @@ public enum Perfil {
 
         throw new IllegalArgumentException("Perfil inválido: " + cod);
     }
-}
\ No newline at end of file
+
+    /**
+     * @return O bit deste perfil na máscara de perfis (<code>1 &lt;&lt; codigo</code>).
+     */
+    public int getBit() {
+        return 1 << codigo;
+    }
+
+    /**
+     * Converte um conjunto de perfis na máscara de bits correspondente.
+     * @param perfis Os perfis.
+     * @return A máscara, com o bit {@link #getBit()} de cada perfil presente.
+     */
+    public static int mascara(Set<Perfil> perfis) {
+        int mascara = 0;
+        for (Perfil x : perfis) {
+            mascara |= x.getBit();
+        }
+        return mascara;
+    }
+
+    /**
+     * Converte uma máscara de bits no conjunto de perfis correspondente.
+     * @param mascara A máscara de bits.
+     * @return Um EnumSet (mutável) com os perfis presentes na máscara.
+     */
+    public static Set<Perfil> daMascara(int mascara) {
+        Set<Perfil> perfis = EnumSet.noneOf(Perfil.class);
+        for (Perfil x : Perfil.values()) {
+            if ((mascara & x.getBit()) != 0) {
+                perfis.add(x);
+            }
+        }
+        return perfis;
+    }
+}
@@ -1,11 +1,104 @@
 package com.turmab.helpdesk.repositories;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.turmab.helpdesk.domain.Chamado;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.enums.Status;
 
 @Repository
-public interface ChamadoRepository extends JpaRepository<Chamado, Integer> {
+public interface ChamadoRepository extends JpaRepository<Chamado, Integer>, ChamadoRepositoryCustom {
+
+	/**
+	 * Projeção usada nas leituras: monta o ChamadoDTO direto do JOIN com técnico e cliente,
+	 * em uma única consulta e sem materializar as entidades Tecnico/Cliente (nem seus perfis).
+	 */
+	String PROJECAO_DTO = "SELECT new com.turmab.helpdesk.domain.dtos.ChamadoDTO("
+			+ "c.id, c.dataAbertura, c.dataFechamento, c.prioridade, c.status, c.titulo, c.observacoes, "
+			+ "t.id, t.nome, cl.id, cl.nome, c.versao) "
+			+ "FROM Chamado c JOIN c.tecnico t JOIN c.cliente cl ";
+
+	String FETCH_SIZE_STREAM = "500";
+
+	@Query(PROJECAO_DTO)
+	List<ChamadoDTO> findAllDTO();
+
+	@Query(PROJECAO_DTO + "WHERE c.id = :id")
+	Optional<ChamadoDTO> findDTOById(@Param("id") Integer id);
+
+	@Query("SELECT c.versao FROM Chamado c WHERE c.id = :id")
+	Optional<Integer> findVersaoById(@Param("id") Integer id);
+
+	@Query(PROJECAO_DTO + "WHERE c.status IN :status")
+	List<ChamadoDTO> findAllDTOByStatusIn(@Param("status") Collection<Status> status);
+
+	/**
+	 * Indica se o técnico possui algum chamado, sem carregar a coleção (a consulta para na primeira linha).
+	 */
+	boolean existsByTecnicoId(Integer tecnicoId);
+
+	/**
+	 * Indica se o cliente possui algum chamado, sem carregar a coleção (a consulta para na primeira linha).
+	 */
+	boolean existsByClienteId(Integer clienteId);
+
+	/**
+	 * Transfere todos os chamados de um técnico para outro em um único UPDATE, incrementando a
+	 * versão de cada um, de modo que quem leu o chamado antes da transferência recebe conflito.
+	 * O contexto de persistência é limpo em seguida, pois as entidades carregadas ficam desatualizadas.
+	 *
+	 * @return A quantidade de chamados transferidos.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Transactional
+	@Query("UPDATE Chamado c SET c.tecnico.id = :destino, c.versao = c.versao + 1 WHERE c.tecnico.id = :origem")
+	int reatribuir(@Param("origem") Integer origem, @Param("destino") Integer destino);
+
+	/**
+	 * Quantidade de chamados agrupada por (status, prioridade).
+	 */
+	@Query("SELECT c.status, c.prioridade, COUNT(c) FROM Chamado c GROUP BY c.status, c.prioridade")
+	List<Object[]> countByStatusAndPrioridade();
+
+	/**
+	 * Quantidade de chamados com os status informados de cada técnico, por status e prioridade, em
+	 * uma única consulta agrupada. Técnicos sem nenhum desses chamados aparecem em uma linha com
+	 * status e prioridade nulos e contagem 0.
+	 *
+	 * @return Linhas (tecnicoId, tecnicoNome, status, prioridade, quantidade).
+	 */
+	@Query("SELECT t.id, t.nome, c.status, c.prioridade, COUNT(c) FROM Tecnico t "
+			+ "LEFT JOIN t.chamados c ON c.status IN :status GROUP BY t.id, t.nome, c.status, c.prioridade")
+	List<Object[]> countByTecnicoAndStatusIn(@Param("status") Collection<Status> status);
+
+	/**
+	 * Percorre todos os chamados com um cursor JDBC, lendo as linhas em lotes de FETCH_SIZE_STREAM.
+	 * Deve ser consumido dentro de uma transação e fechado ao final.
+	 */
+	@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = FETCH_SIZE_STREAM))
+	@Query(PROJECAO_DTO + "ORDER BY c.id")
+	Stream<ChamadoDTO> streamAll();
+
+	/**
+	 * Percorre apenas (id, versao, titulo, observacoes) de todos os chamados, para montar o índice de busca.
+	 */
+	@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = FETCH_SIZE_STREAM))
+	@Query("SELECT c.id, c.versao, c.titulo, c.observacoes FROM Chamado c")
+	Stream<Object[]> streamTextos();
 
 }
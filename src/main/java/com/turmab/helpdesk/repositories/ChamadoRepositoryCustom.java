@@ -0,0 +1,54 @@
+package com.turmab.helpdesk.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Slice;
+
+import com.turmab.helpdesk.domain.Chamado;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.dtos.ChamadoFiltroDTO;
+
+/**
+ * Consultas dinâmicas de chamados, montadas conforme os filtros informados.
+ * Implementada em {@link ChamadoRepositoryImpl}.
+ */
+public interface ChamadoRepositoryCustom {
+
+	/**
+	 * Lista todos os chamados que atendem aos filtros, ordenados por data de abertura e ID.
+	 */
+	List<ChamadoDTO> findAll(ChamadoFiltroDTO filtro);
+
+	/**
+	 * Retorna uma página (keyset) dos chamados que atendem aos filtros.
+	 *
+	 * @param filtro Os critérios de filtragem (campos nulos são ignorados).
+	 * @param dataAbertura A data de abertura do último chamado já entregue, ou null na primeira página.
+	 * @param id O ID do último chamado já entregue, ou null na primeira página.
+	 * @param limit O tamanho da página.
+	 */
+	Slice<ChamadoDTO> findPage(ChamadoFiltroDTO filtro, LocalDate dataAbertura, Integer id, int limit);
+
+	/**
+	 * Insere uma lista de novos chamados em uma única transação, usando lotes JDBC.
+	 * O contexto de persistência é descarregado e limpo a cada lote para manter a memória constante.
+	 *
+	 * @param chamados Os chamados a inserir (sem ID).
+	 * @return Os mesmos chamados, com os IDs preenchidos.
+	 */
+	List<Chamado> insertAll(List<Chamado> chamados);
+
+	/**
+	 * Altera apenas os campos informados de um chamado, em um único UPDATE condicionado à versão.
+	 * A versão é incrementada junto com a alteração.
+	 *
+	 * @param id O ID do chamado.
+	 * @param versao A versão esperada no banco.
+	 * @param campos Atributo da entidade -> novo valor.
+	 * @return A quantidade de linhas alteradas (0 se a versão não conferir).
+	 */
+	int updateCampos(Integer id, Integer versao, Map<String, Object> campos);
+
+}
@@ -0,0 +1,133 @@
+package com.turmab.helpdesk.repositories;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.turmab.helpdesk.domain.Chamado;
+import com.turmab.helpdesk.domain.Cliente;
+import com.turmab.helpdesk.domain.Tecnico;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.dtos.ChamadoFiltroDTO;
+import com.turmab.helpdesk.domain.enums.Prioridade;
+import com.turmab.helpdesk.domain.enums.Status;
+
+/**
+ * Implementação das consultas dinâmicas de {@link ChamadoRepositoryCustom} com a Criteria API.
+ * Apenas os critérios informados entram no WHERE, de modo que o banco pode usar os índices
+ * compostos declarados em {@link Chamado} e ler somente as linhas que atendem ao filtro.
+ */
+public class ChamadoRepositoryImpl implements ChamadoRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager em;
+
+	/**
+	 * Deve ser igual a spring.jpa.properties.hibernate.jdbc.batch_size.
+	 */
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	private int batchSize;
+
+	@Override
+	public List<ChamadoDTO> findAll(ChamadoFiltroDTO filtro) {
+		return createQuery(filtro, null, null).getResultList();
+	}
+
+	@Override
+	public Slice<ChamadoDTO> findPage(ChamadoFiltroDTO filtro, LocalDate dataAbertura, Integer id, int limit) {
+		// Busca um registro a mais apenas para saber se existe uma próxima página
+		List<ChamadoDTO> list = createQuery(filtro, dataAbertura, id).setMaxResults(limit + 1).getResultList();
+		boolean hasNext = list.size() > limit;
+		if (hasNext) {
+			list = list.subList(0, limit);
+		}
+		return new SliceImpl<>(list, PageRequest.of(0, limit), hasNext);
+	}
+
+	@Override
+	@Transactional
+	public List<Chamado> insertAll(List<Chamado> chamados) {
+		for (int i = 0; i < chamados.size(); i++) {
+			em.persist(chamados.get(i));
+			if ((i + 1) % batchSize == 0) {
+				em.flush();
+				em.clear();
+			}
+		}
+		em.flush();
+		em.clear();
+		return chamados;
+	}
+
+	@Override
+	@Transactional
+	public int updateCampos(Integer id, Integer versao, Map<String, Object> campos) {
+		StringBuilder jpql = new StringBuilder("UPDATE Chamado c SET c.versao = c.versao + 1");
+		campos.keySet().forEach(campo -> jpql.append(", c.").append(campo).append(" = :").append(campo));
+		jpql.append(" WHERE c.id = :id AND c.versao = :versao");
+
+		Query query = em.createQuery(jpql.toString()).setParameter("id", id).setParameter("versao", versao);
+		campos.forEach(query::setParameter);
+		return query.executeUpdate();
+	}
+
+	private TypedQuery<ChamadoDTO> createQuery(ChamadoFiltroDTO filtro, LocalDate dataAbertura, Integer id) {
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<ChamadoDTO> cq = cb.createQuery(ChamadoDTO.class);
+		Root<Chamado> c = cq.from(Chamado.class);
+		Join<Chamado, Tecnico> t = c.join("tecnico");
+		Join<Chamado, Cliente> cl = c.join("cliente");
+
+		cq.select(cb.construct(ChamadoDTO.class, c.get("id"), c.get("dataAbertura"), c.get("dataFechamento"),
+				c.get("prioridade"), c.get("status"), c.get("titulo"), c.get("observacoes"), t.get("id"),
+				t.get("nome"), cl.get("id"), cl.get("nome"), c.get("versao")));
+
+		Path<LocalDate> abertura = c.get("dataAbertura");
+		Path<Integer> chamadoId = c.get("id");
+		List<Predicate> predicates = new ArrayList<>();
+		if (filtro.getStatus() != null) {
+			predicates.add(cb.equal(c.get("status"), Status.toEnum(filtro.getStatus())));
+		}
+		if (filtro.getPrioridade() != null) {
+			predicates.add(cb.equal(c.get("prioridade"), Prioridade.toEnum(filtro.getPrioridade())));
+		}
+		if (filtro.getTecnico() != null) {
+			predicates.add(cb.equal(c.get("tecnico").get("id"), filtro.getTecnico()));
+		}
+		if (filtro.getCliente() != null) {
+			predicates.add(cb.equal(c.get("cliente").get("id"), filtro.getCliente()));
+		}
+		if (filtro.getAbertoDe() != null) {
+			predicates.add(cb.greaterThanOrEqualTo(abertura, filtro.getAbertoDe()));
+		}
+		if (filtro.getAbertoAte() != null) {
+			predicates.add(cb.lessThanOrEqualTo(abertura, filtro.getAbertoAte()));
+		}
+		if (dataAbertura != null && id != null) {
+			predicates.add(cb.or(cb.greaterThan(abertura, dataAbertura),
+					cb.and(cb.equal(abertura, dataAbertura), cb.greaterThan(chamadoId, id))));
+		}
+
+		cq.where(predicates.toArray(new Predicate[0]));
+		cq.orderBy(cb.asc(abertura), cb.asc(chamadoId));
+		return em.createQuery(cq);
+	}
+}
@@ -1,18 +1,50 @@
 package com.turmab.helpdesk.repositories;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.QueryHint;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
 import com.turmab.helpdesk.domain.Pessoa;
 
 @Repository
-public interface PessoaRepository extends JpaRepository<Pessoa, Integer> {
-
+public interface PessoaRepository extends JpaRepository<Pessoa, Integer>, PessoaRepositoryCustom {
+
+	/**
+	 * Busca por CPF pelo cache de consultas do Hibernate: a mesma busca é atendida da memória até
+	 * a próxima gravação na tabela de pessoas. A busca por e-mail, identificador natural, fica em
+	 * {@link PessoaRepositoryCustom#findByEmail(String)}.
+	 */
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
 	Optional<Pessoa> findByCpf(String cpf);
 
-	Optional<Pessoa> findByEmail(String email);
+	/**
+	 * Pares (id, versaoCredenciais) de todas as pessoas, para o mapa de versões em memória.
+	 */
+	@Query("SELECT p.id, p.versaoCredenciais FROM Pessoa p")
+	List<Object[]> findVersoesCredenciais();
+
+	/**
+	 * Trincas (id, cpf, email) de todas as pessoas, para o índice de unicidade em memória.
+	 */
+	@Query("SELECT p.id, p.cpf, p.email FROM Pessoa p")
+	List<Object[]> findCpfsEEmails();
+
+	/**
+	 * Trincas (id, cpf, email) das pessoas que já usam algum dos CPFs ou e-mails informados, em uma única consulta.
+	 */
+	@Query("SELECT p.id, p.cpf, p.email FROM Pessoa p WHERE p.cpf IN :cpfs OR p.email IN :emails")
+	List<Object[]> findCpfsEEmailsByCpfInOrEmailIn(@Param("cpfs") Collection<String> cpfs,
+			@Param("emails") Collection<String> emails);
 
 }
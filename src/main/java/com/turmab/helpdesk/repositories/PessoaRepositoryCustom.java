@@ -0,0 +1,32 @@
+package com.turmab.helpdesk.repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.turmab.helpdesk.domain.Pessoa;
+
+/**
+ * Busca pelo identificador natural e operações de escrita em massa sobre pessoas (técnicos e clientes).
+ * Implementada em {@link PessoaRepositoryImpl}.
+ */
+public interface PessoaRepositoryCustom {
+
+	/**
+	 * Busca uma pessoa pelo e-mail, o identificador natural de {@link Pessoa}. Uma busca repetida é
+	 * atendida pelo cache de segundo nível (e-mail -> ID e ID -> pessoa), sem consultar o banco.
+	 *
+	 * @param email O e-mail.
+	 * @return A pessoa, se existir.
+	 */
+	Optional<Pessoa> findByEmail(String email);
+
+	/**
+	 * Insere uma lista de novas pessoas em uma única transação, usando lotes JDBC (os perfis vão na
+	 * própria linha, como máscara de bits). O contexto de persistência é descarregado e limpo a cada lote.
+	 *
+	 * @param pessoas As pessoas a inserir (sem ID).
+	 * @return As mesmas pessoas, com os IDs preenchidos.
+	 */
+	<T extends Pessoa> List<T> insertAll(List<T> pessoas);
+
+}
@@ -0,0 +1,49 @@
+package com.turmab.helpdesk.repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.turmab.helpdesk.domain.Pessoa;
+
+/**
+ * Implementação de {@link PessoaRepositoryCustom}.
+ */
+public class PessoaRepositoryImpl implements PessoaRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager em;
+
+	/**
+	 * Deve ser igual a spring.jpa.properties.hibernate.jdbc.batch_size.
+	 */
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	private int batchSize;
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Pessoa> findByEmail(String email) {
+		return em.unwrap(Session.class).bySimpleNaturalId(Pessoa.class).loadOptional(email);
+	}
+
+	@Override
+	@Transactional
+	public <T extends Pessoa> List<T> insertAll(List<T> pessoas) {
+		for (int i = 0; i < pessoas.size(); i++) {
+			em.persist(pessoas.get(i));
+			if ((i + 1) % batchSize == 0) {
+				em.flush();
+				em.clear();
+			}
+		}
+		em.flush();
+		em.clear();
+		return pessoas;
+	}
+}
@@ -1,11 +1,30 @@
 package com.turmab.helpdesk.repositories;
 
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.turmab.helpdesk.domain.Tecnico;
+import com.turmab.helpdesk.domain.dtos.TecnicoDTO;
 
 @Repository
 public interface TecnicoRepository extends JpaRepository<Tecnico, Integer> {
 
+	/**
+	 * Projeção usada nas listagens: apenas as colunas exibidas (sem a senha), com os perfis
+	 * lidos da coluna de máscara de bits da própria pessoa.
+	 */
+	String PROJECAO_DTO = "SELECT new com.turmab.helpdesk.domain.dtos.TecnicoDTO("
+			+ "p.id, p.nome, p.cpf, p.email, p.dataCriacao, p.perfis) FROM Tecnico p";
+
+	@Query(PROJECAO_DTO + " ORDER BY p.id")
+	List<TecnicoDTO> findAllDTO();
+
+	@Query(value = PROJECAO_DTO, countQuery = "SELECT COUNT(p) FROM Tecnico p")
+	Page<TecnicoDTO> findPageDTO(Pageable pageable);
+
 }
@@ -0,0 +1,32 @@
+package com.turmab.helpdesk.repositories;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.turmab.helpdesk.domain.TokenRevogado;
+
+@Repository
+public interface TokenRevogadoRepository extends JpaRepository<TokenRevogado, String> {
+
+	/**
+	 * jti de todos os tokens revogados que ainda não expiraram, para montar o filtro de Bloom.
+	 */
+	@Query("SELECT t.jti FROM TokenRevogado t WHERE t.expiraEm > :agora")
+	List<String> findJtiVigentes(@Param("agora") Instant agora);
+
+	/**
+	 * Remove as revogações de tokens que já expiraram (e que, portanto, já seriam recusados).
+	 */
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM TokenRevogado t WHERE t.expiraEm <= :agora")
+	int deleteExpirados(@Param("agora") Instant agora);
+
+}
@@ -0,0 +1,102 @@
+package com.turmab.helpdesk.resources;
+
+import com.turmab.helpdesk.security.JWTUtil;
+import com.turmab.helpdesk.security.RefreshTokens;
+import com.turmab.helpdesk.security.TokensRevogados;
+import com.turmab.helpdesk.security.TokensVerificados;
+import com.turmab.helpdesk.security.UserSS;
+import com.turmab.helpdesk.service.exceptions.StandardError;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.Instant;
+
+/**
+ * Controller REST para a renovação e o encerramento de sessões.
+ * O login continua em /login (JWTAuthenticationFilter). O caminho base para todos os endpoints
+ * nesta classe é /auth.
+ */
+@RestController
+@RequestMapping(value = "/auth")
+public class AuthResource {
+
+    @Autowired
+    private JWTUtil jwtUtil;
+    @Autowired
+    private RefreshTokens refreshTokens;
+    @Autowired
+    private TokensVerificados tokensVerificados;
+    @Autowired
+    private TokensRevogados tokensRevogados;
+
+    /**
+     * Endpoint para renovar o access token a partir do refresh token recebido no login.
+     * Não envolve a senha (nem o BCrypt). O refresh token usado é descartado e um novo é devolvido.
+     *
+     * @param refreshToken O refresh token, vindo no cabeçalho Refresh-Token.
+     * @param request A requisição, usada para montar o erro.
+     * @return 204 (No Content) com os novos tokens nos cabeçalhos Authorization e Refresh-Token,
+     * ou 401 (Unauthorized) se o refresh token for inválido, já usado ou vencido.
+     */
+    @PostMapping(value = "/refresh")
+    public ResponseEntity<?> refresh(@RequestHeader(value = RefreshTokens.HEADER, required = false) String refreshToken,
+                                     HttpServletRequest request) {
+        UserSS user = refreshTokens.consumir(refreshToken);
+        if (user == null) {
+            StandardError error = new StandardError(System.currentTimeMillis(), HttpStatus.UNAUTHORIZED.value(),
+                    "Não autorizado", "Refresh token inválido ou expirado", request.getRequestURI());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+        }
+
+        ResponseEntity.HeadersBuilder<?> response = ResponseEntity.noContent()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(user));
+        String novoRefreshToken = refreshTokens.emitir(user);
+        if (novoRefreshToken != null) {
+            response.header(RefreshTokens.HEADER, novoRefreshToken);
+        }
+        return response.build();
+    }
+
+    /**
+     * Endpoint de logout: revoga o access token usado na requisição e, se enviado, o refresh token.
+     *
+     * @param authorization O cabeçalho Authorization ("Bearer ...") da requisição.
+     * @param refreshToken O refresh token a descartar, vindo no cabeçalho Refresh-Token (opcional).
+     * @return Um ResponseEntity sem conteúdo e com status HTTP 204 (No Content).
+     */
+    @PostMapping(value = "/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+                                       @RequestHeader(value = RefreshTokens.HEADER, required = false) String refreshToken) {
+        Claims claims = tokensVerificados.verificar(authorization.substring("Bearer ".length()));
+        if (claims != null && claims.getId() != null) {
+            tokensRevogados.revogar(claims.getId(), claims.getExpiration().toInstant());
+        }
+        refreshTokens.revogar(refreshToken);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Endpoint para revogar um token qualquer pelo seu ID (jti).
+     * Apenas usuários com perfil de ADMIN podem acessar este endpoint.
+     *
+     * @param jti O ID do token a revogar (vem da URL).
+     * @return Um ResponseEntity sem conteúdo e com status HTTP 204 (No Content).
+     */
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @PostMapping(value = "/revoke/{jti}")
+    public ResponseEntity<Void> revoke(@PathVariable String jti) {
+        // A expiração real do token não é conhecida aqui; nenhum token vive mais que jwt.expiration
+        tokensRevogados.revogar(jti, Instant.now().plusMillis(jwtUtil.getExpiration()));
+        return ResponseEntity.noContent().build();
+    }
+}
\ No newline at end of file
@@ -2,15 +2,28 @@ package com.turmab.helpdesk.resources;
 
 import com.turmab.helpdesk.domain.Chamado;
 import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.dtos.ChamadoFiltroDTO;
+import com.turmab.helpdesk.domain.dtos.ChamadoPatchDTO;
 import com.turmab.helpdesk.service.ChamadoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.io.IOException;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -23,34 +36,112 @@ import java.util.stream.Collectors;
  * @since 2025-10-02
  */
 @RestController
+@Validated
 @RequestMapping(value = "/chamados")
 public class ChamadoResource {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    /**
+     * Maior quantidade de chamados aceita em uma única requisição de POST /chamados/lote.
+     */
+    public static final int LOTE_MAXIMO = 10000;
+
     @Autowired
     private ChamadoService service;
 
     /**
      * Endpoint para buscar um chamado específico pelo seu ID.
      *
+     * A resposta traz uma ETag baseada na versão do chamado; se o cliente a reenviar em
+     * If-None-Match e nada tiver mudado, a resposta é 304 (Not Modified), sem corpo.
+     *
      * @param id O ID do chamado a ser buscado (vem da URL).
+     * @param request A requisição, usada para avaliar o cabeçalho If-None-Match.
      * @return Um ResponseEntity contendo o DTO do chamado e o status HTTP 200 (OK).
      */
     @GetMapping(value = "/{id}")
-    public ResponseEntity<ChamadoDTO> findById(@PathVariable Integer id) {
-        Chamado obj = service.findById(id);
-        return ResponseEntity.ok().body(new ChamadoDTO(obj));
+    public ResponseEntity<ChamadoDTO> findById(@PathVariable Integer id, WebRequest request) {
+        // Em uma requisição condicional basta ler a versão para decidir pelo 304, sem montar o DTO
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(service.etag(service.findVersao(id)))) {
+            return null;
+        }
+        ChamadoDTO objDTO = service.findDTOById(id);
+        return ResponseEntity.ok().eTag(service.etag(objDTO.getVersao())).cacheControl(CacheControl.noCache())
+                .body(objDTO);
     }
 
     /**
-     * Endpoint para listar todos os chamados cadastrados.
+     * Endpoint para listar os chamados cadastrados.
+     * Aceita os filtros opcionais status, prioridade, tecnico, cliente, abertoDe e abertoAte
+     * (datas no formato dd/MM/yyyy), aplicados no banco. Com after e/ou limit, retorna uma página
+     * ordenada por data de abertura e ID; o cursor da próxima página vem no cabeçalho X-Next-Cursor
+     * (ausente na última página).
      *
+     * @param filtro Os critérios de filtragem, vindos dos parâmetros de consulta.
+     * @param after O cursor opaco recebido na página anterior (opcional).
+     * @param limit A quantidade máxima de chamados na página (opcional).
      * @return Um ResponseEntity contendo uma lista de DTOs de chamados e o status HTTP 200 (OK).
      */
     @GetMapping
-    public ResponseEntity<List<ChamadoDTO>> findAll() {
-        List<Chamado> list = service.findAll();
-        List<ChamadoDTO> listDTO = list.stream().map(obj -> new ChamadoDTO(obj)).collect(Collectors.toList());
-        return ResponseEntity.ok().body(listDTO);
+    public ResponseEntity<List<ChamadoDTO>> findAll(ChamadoFiltroDTO filtro,
+                                                    @RequestParam(value = "after", required = false) String after,
+                                                    @RequestParam(value = "limit", required = false) Integer limit) {
+        if (after == null && limit == null) {
+            List<ChamadoDTO> listDTO = filtro.isVazio() ? service.findAll() : service.findAll(filtro);
+            return ResponseEntity.ok().body(listDTO);
+        }
+
+        Slice<ChamadoDTO> page = service.findPage(filtro, after, limit);
+        List<ChamadoDTO> listDTO = page.getContent();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, service.encodeCursor(listDTO.get(listDTO.size() - 1)));
+        }
+        return response.body(listDTO);
+    }
+
+    /**
+     * Endpoint para buscar chamados por palavras-chave no título e nas observações.
+     * A busca é atendida pelo índice em memória, sem acessar o banco de dados.
+     *
+     * @param q O texto da busca.
+     * @param limit A quantidade máxima de resultados (opcional).
+     * @return Um ResponseEntity contendo os IDs dos chamados, do mais para o menos relevante.
+     */
+    @GetMapping(value = "/search")
+    public ResponseEntity<List<Integer>> search(@RequestParam(value = "q") String q,
+                                                @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok().body(service.search(q, limit));
+    }
+
+    /**
+     * Endpoint para consultar a quantidade de chamados por status e prioridade.
+     * Atendido pelos contadores em memória, sem acessar o banco de dados.
+     *
+     * @return Um ResponseEntity contendo o mapa status -> (prioridade -> quantidade).
+     */
+    @GetMapping(value = "/contagens")
+    public ResponseEntity<Map<String, Map<String, Long>>> contagens() {
+        return ResponseEntity.ok().body(service.contagens());
+    }
+
+    /**
+     * Endpoint para exportar todos os chamados em NDJSON (um chamado por linha).
+     * Os dados são enviados à medida que são lidos do banco, com uso de memória constante,
+     * o que torna este endpoint adequado para sincronizações em massa.
+     *
+     * @param response A resposta HTTP onde as linhas são escritas.
+     * @throws IOException Se ocorrer um erro ao escrever a resposta.
+     */
+    @GetMapping(value = "/stream", produces = APPLICATION_NDJSON_VALUE)
+    public void stream(HttpServletResponse response) throws IOException {
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        service.exportar(response.getOutputStream());
     }
 
     /**
@@ -66,6 +157,21 @@ public class ChamadoResource {
         return ResponseEntity.created(uri).build();
     }
 
+    /**
+     * Endpoint para criar vários chamados de uma só vez (ex.: integração com o monitoramento).
+     * Todos os chamados são validados e gravados em uma única transação, com INSERTs em lote.
+     *
+     * @param objDTOs A lista de DTOs dos chamados, vinda no corpo da requisição.
+     * @return Um ResponseEntity com os IDs dos chamados criados e o status HTTP 201 (Created).
+     */
+    @PostMapping(value = "/lote")
+    public ResponseEntity<List<Integer>> createLote(
+            @RequestBody @NotEmpty @Size(max = LOTE_MAXIMO) List<@Valid ChamadoDTO> objDTOs) {
+        List<Chamado> list = service.createLote(objDTOs);
+        List<Integer> ids = list.stream().map(Chamado::getId).collect(Collectors.toList());
+        return ResponseEntity.status(HttpStatus.CREATED).body(ids);
+    }
+
     /**
      * Endpoint para atualizar um chamado existente.
      *
@@ -78,4 +184,18 @@ public class ChamadoResource {
         Chamado newObj = service.update(id, objDTO);
         return ResponseEntity.ok().body(new ChamadoDTO(newObj));
     }
+
+    /**
+     * Endpoint para alterar parcialmente um chamado (ex.: mudar apenas o status ou a prioridade).
+     * Somente os campos enviados são alterados; a versão lida deve acompanhar a requisição e,
+     * se o chamado tiver sido alterado nesse meio tempo, a resposta é 409 (Conflict).
+     *
+     * @param id O ID do chamado a ser alterado (vem da URL).
+     * @param patchDTO Os campos a alterar e a versão, vindos no corpo da requisição.
+     * @return Um ResponseEntity contendo o DTO do chamado alterado e o status HTTP 200 (OK).
+     */
+    @PatchMapping(value = "/{id}")
+    public ResponseEntity<ChamadoDTO> patch(@PathVariable Integer id, @Valid @RequestBody ChamadoPatchDTO patchDTO) {
+        return ResponseEntity.ok().body(service.patch(id, patchDTO));
+    }
 }
\ No newline at end of file
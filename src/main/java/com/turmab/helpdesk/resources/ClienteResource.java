@@ -2,17 +2,24 @@ package com.turmab.helpdesk.resources;
 
 import com.turmab.helpdesk.domain.Cliente;
 import com.turmab.helpdesk.domain.dtos.ClienteDTO;
+import com.turmab.helpdesk.domain.dtos.ImportacaoDTO;
 import com.turmab.helpdesk.service.ClienteService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Controller REST para gerenciar as requisições relacionadas a Clientes.
@@ -27,6 +34,11 @@ import java.util.stream.Collectors;
 @RequestMapping(value = "/clientes")
 public class ClienteResource {
 
+    /**
+     * Cabeçalho com a quantidade total de clientes, nas listagens paginadas.
+     */
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     @Autowired
     private ClienteService service;
 
@@ -43,16 +55,33 @@ public class ClienteResource {
     }
 
     /**
-     * Endpoint para listar todos os clientes cadastrados.
+     * Endpoint para listar os clientes cadastrados, apenas com as colunas da listagem (sem a senha).
+     * Com page, size e/ou sort (<code>campo[,asc|desc]</code>), retorna apenas a página pedida e
+     * o total de registros no cabeçalho X-Total-Count; sem eles, retorna todos, ordenados pelo ID.
+     * A resposta traz uma ETag; se o cliente a reenviar em If-None-Match e a coleção não tiver
+     * mudado, a resposta é 304 (Not Modified), sem corpo.
      *
+     * @param page O número da página, a partir de 0 (opcional).
+     * @param size O tamanho da página (opcional).
+     * @param sort A ordenação (opcional).
+     * @param request A requisição, usada para avaliar o cabeçalho If-None-Match.
      * @return Um ResponseEntity contendo uma lista de DTOs de clientes e o status HTTP 200 (OK).
      */
     @GetMapping
-    public ResponseEntity<List<ClienteDTO>> findAll() {
-        List<Cliente> list = service.findAll();
-        // Converte a lista da entidade Cliente para uma lista de ClienteDTO
-        List<ClienteDTO> listDTO = list.stream().map(obj -> new ClienteDTO(obj)).collect(Collectors.toList());
-        return ResponseEntity.ok().body(listDTO);
+    public ResponseEntity<List<ClienteDTO>> findAll(@RequestParam(value = "page", required = false) Integer page,
+                                                    @RequestParam(value = "size", required = false) Integer size,
+                                                    @RequestParam(value = "sort", required = false) String sort,
+                                                    WebRequest request) {
+        String etag = service.etag();
+        if (request.checkNotModified(etag)) {
+            return null; // 304 Not Modified, sem consultar o banco nem serializar a lista
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache());
+        if (page == null && size == null && sort == null) {
+            return response.body(service.findAll());
+        }
+        Page<ClienteDTO> pagina = service.findPage(page, size, sort);
+        return response.header(TOTAL_COUNT_HEADER, String.valueOf(pagina.getTotalElements())).body(pagina.getContent());
     }
 
     /**
@@ -70,6 +99,37 @@ public class ClienteResource {
         return ResponseEntity.created(uri).build();
     }
 
+    /**
+     * Endpoint para importar clientes em massa a partir de um CSV enviado no corpo da requisição
+     * (Content-Type text/csv). O arquivo é processado em streaming, em lotes.
+     * Apenas usuários com perfil de ADMIN podem acessar este endpoint.
+     *
+     * @param csv O conteúdo do CSV, com cabeçalho nome, cpf, email e senha.
+     * @return Um ResponseEntity com o relatório da importação e o status HTTP 200 (OK).
+     * @throws IOException Se a leitura do arquivo falhar.
+     */
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @PostMapping(value = "/importacao", consumes = "text/csv")
+    public ResponseEntity<ImportacaoDTO> importar(InputStream csv) throws IOException {
+        return ResponseEntity.ok().body(service.importar(csv));
+    }
+
+    /**
+     * Mesmo que {@link #importar(InputStream)}, para o CSV enviado como arquivo de um formulário
+     * (multipart/form-data, campo "arquivo").
+     *
+     * @param arquivo O arquivo CSV.
+     * @return Um ResponseEntity com o relatório da importação e o status HTTP 200 (OK).
+     * @throws IOException Se a leitura do arquivo falhar.
+     */
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @PostMapping(value = "/importacao", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportacaoDTO> importarArquivo(@RequestParam("arquivo") MultipartFile arquivo) throws IOException {
+        try (InputStream csv = arquivo.getInputStream()) {
+            return ResponseEntity.ok().body(service.importar(csv));
+        }
+    }
+
     /**
      * Endpoint para atualizar um cliente existente.
      * Apenas usuários com perfil de ADMIN podem acessar este endpoint.
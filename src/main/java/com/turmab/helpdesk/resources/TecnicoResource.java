@@ -1,18 +1,27 @@
 package com.turmab.helpdesk.resources;
 
 import com.turmab.helpdesk.domain.Tecnico;
+import com.turmab.helpdesk.domain.dtos.CargaTecnicoDTO;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.dtos.ImportacaoDTO;
 import com.turmab.helpdesk.domain.dtos.TecnicoDTO;
 import com.turmab.helpdesk.service.TecnicoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Controller REST para gerenciar as requisições relacionadas a Técnicos.
@@ -27,6 +36,11 @@ import java.util.stream.Collectors;
 @RequestMapping(value = "/tecnicos")
 public class TecnicoResource {
 
+    /**
+     * Cabeçalho com a quantidade total de técnicos, nas listagens paginadas.
+     */
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     @Autowired
     private TecnicoService service;
 
@@ -43,16 +57,57 @@ public class TecnicoResource {
     }
 
     /**
-     * Endpoint para listar todos os técnicos cadastrados.
+     * Endpoint para listar os técnicos cadastrados, apenas com as colunas da listagem (sem a senha).
+     * Com page, size e/ou sort (<code>campo[,asc|desc]</code>), retorna apenas a página pedida e
+     * o total de registros no cabeçalho X-Total-Count; sem eles, retorna todos, ordenados pelo ID.
+     * A resposta traz uma ETag; se o cliente a reenviar em If-None-Match e a coleção não tiver
+     * mudado, a resposta é 304 (Not Modified), sem corpo.
      *
+     * @param page O número da página, a partir de 0 (opcional).
+     * @param size O tamanho da página (opcional).
+     * @param sort A ordenação (opcional).
+     * @param request A requisição, usada para avaliar o cabeçalho If-None-Match.
      * @return Um ResponseEntity contendo uma lista de DTOs de técnicos e o status HTTP 200 (OK).
      */
     @GetMapping
-    public ResponseEntity<List<TecnicoDTO>> findAll() {
-        List<Tecnico> list = service.findAll();
-        // Converte a lista de entidades Tecnico para uma lista de TecnicoDTO
-        List<TecnicoDTO> listDTO = list.stream().map(obj -> new TecnicoDTO(obj)).collect(Collectors.toList());
-        return ResponseEntity.ok().body(listDTO);
+    public ResponseEntity<List<TecnicoDTO>> findAll(@RequestParam(value = "page", required = false) Integer page,
+                                                    @RequestParam(value = "size", required = false) Integer size,
+                                                    @RequestParam(value = "sort", required = false) String sort,
+                                                    WebRequest request) {
+        String etag = service.etag();
+        if (request.checkNotModified(etag)) {
+            return null; // 304 Not Modified, sem consultar o banco nem serializar a lista
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache());
+        if (page == null && size == null && sort == null) {
+            return response.body(service.findAll());
+        }
+        Page<TecnicoDTO> pagina = service.findPage(page, size, sort);
+        return response.header(TOTAL_COUNT_HEADER, String.valueOf(pagina.getTotalElements())).body(pagina.getContent());
+    }
+
+    /**
+     * Endpoint para consultar a carga de trabalho de todos os técnicos: para cada um, a quantidade
+     * de chamados ABERTO e em ANDAMENTO, no total e por prioridade, do menos para o mais ocupado.
+     *
+     * @return Um ResponseEntity contendo a lista de DTOs de carga e o status HTTP 200 (OK).
+     */
+    @GetMapping(value = "/carga")
+    public ResponseEntity<List<CargaTecnicoDTO>> findCarga() {
+        return ResponseEntity.ok().body(service.findCarga());
+    }
+
+    /**
+     * Endpoint para consultar a fila de trabalho de um técnico.
+     * Retorna os chamados ABERTO/ANDAMENTO do técnico, com os de prioridade ALTA primeiro
+     * e, em seguida, os mais antigos.
+     *
+     * @param id O ID do técnico (vem da URL).
+     * @return Um ResponseEntity contendo a lista de DTOs de chamados e o status HTTP 200 (OK).
+     */
+    @GetMapping(value = "/{id}/fila")
+    public ResponseEntity<List<ChamadoDTO>> findFila(@PathVariable Integer id) {
+        return ResponseEntity.ok().body(service.findFila(id));
     }
 
     /**
@@ -70,6 +125,37 @@ public class TecnicoResource {
         return ResponseEntity.created(uri).build();
     }
 
+    /**
+     * Endpoint para importar técnicos em massa a partir de um CSV enviado no corpo da requisição
+     * (Content-Type text/csv). O arquivo é processado em streaming, em lotes.
+     * Apenas usuários com perfil de ADMIN podem acessar este endpoint.
+     *
+     * @param csv O conteúdo do CSV, com cabeçalho nome, cpf, email e senha.
+     * @return Um ResponseEntity com o relatório da importação e o status HTTP 200 (OK).
+     * @throws IOException Se a leitura do arquivo falhar.
+     */
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @PostMapping(value = "/importacao", consumes = "text/csv")
+    public ResponseEntity<ImportacaoDTO> importar(InputStream csv) throws IOException {
+        return ResponseEntity.ok().body(service.importar(csv));
+    }
+
+    /**
+     * Mesmo que {@link #importar(InputStream)}, para o CSV enviado como arquivo de um formulário
+     * (multipart/form-data, campo "arquivo").
+     *
+     * @param arquivo O arquivo CSV.
+     * @return Um ResponseEntity com o relatório da importação e o status HTTP 200 (OK).
+     * @throws IOException Se a leitura do arquivo falhar.
+     */
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @PostMapping(value = "/importacao", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportacaoDTO> importarArquivo(@RequestParam("arquivo") MultipartFile arquivo) throws IOException {
+        try (InputStream csv = arquivo.getInputStream()) {
+            return ResponseEntity.ok().body(service.importar(csv));
+        }
+    }
+
     /**
      * Endpoint para atualizar um técnico existente.
      * Apenas usuários com perfil de ADMIN podem acessar este endpoint.
@@ -98,4 +184,19 @@ public class TecnicoResource {
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Endpoint para transferir todos os chamados de um técnico para outro e deletar o técnico.
+     * Apenas usuários com perfil de ADMIN podem acessar este endpoint.
+     *
+     * @param id O ID do técnico a ser deletado (vem da URL).
+     * @param reatribuirPara O ID do técnico que recebe os chamados.
+     * @return Um ResponseEntity sem conteúdo e com status HTTP 204 (No Content).
+     */
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @DeleteMapping(value = "/{id}", params = "reatribuirPara")
+    public ResponseEntity<Void> reatribuirEDeletar(@PathVariable Integer id, @RequestParam Integer reatribuirPara) {
+        service.reatribuirEDeletar(id, reatribuirPara);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,17 +1,22 @@
 package com.turmab.helpdesk.resources.exceptions;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import com.turmab.helpdesk.service.exceptions.ConflictException;
 import com.turmab.helpdesk.service.exceptions.DataIntegrityViolationException;
 import com.turmab.helpdesk.service.exceptions.ObjectNotFoundException;
 import com.turmab.helpdesk.service.exceptions.StandardError;
+import com.turmab.helpdesk.service.exceptions.TooManyRequestsException;
 
 @ControllerAdvice /*
 					 * serve para criar um único lugar para capturar e tratar exceções que podem ser
@@ -80,6 +85,40 @@ public class ResourceExceptionHandle {
 
 	}
 	
+	@ExceptionHandler(ConflictException.class)
+	public ResponseEntity<StandardError> conflictException(ConflictException ex, HttpServletRequest request) {
+
+		StandardError error = new StandardError(System.currentTimeMillis(), HttpStatus.CONFLICT.value(),
+				"Conflict", ex.getMessage(), request.getRequestURI());
+
+		return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+
+	}
+
+	@ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+	public ResponseEntity<StandardError> optimisticLockingFailure(ObjectOptimisticLockingFailureException ex,
+			HttpServletRequest request) {
+
+		// O UPDATE versionado do Hibernate não encontrou a versão lida: outro usuário alterou o objeto antes
+		StandardError error = new StandardError(System.currentTimeMillis(), HttpStatus.CONFLICT.value(),
+				"Conflict", "O objeto foi alterado por outro usuário. Recarregue e tente novamente.",
+				request.getRequestURI());
+
+		return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+
+	}
+
+	@ExceptionHandler(TooManyRequestsException.class)
+	public ResponseEntity<StandardError> tooManyRequestsException(TooManyRequestsException ex,
+			HttpServletRequest request) {
+
+		StandardError error = new StandardError(System.currentTimeMillis(), HttpStatus.TOO_MANY_REQUESTS.value(),
+				"Too Many Requests", ex.getMessage(), request.getRequestURI());
+
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(error);
+
+	}
+
 	@ExceptionHandler(MethodArgumentNotValidException.class)
 	public ResponseEntity<StandardError> ValidationErrors(MethodArgumentNotValidException ex,
 			HttpServletRequest request) {
@@ -98,4 +137,22 @@ public class ResourceExceptionHandle {
 
 	}
 
+	@ExceptionHandler(ConstraintViolationException.class)
+	public ResponseEntity<StandardError> constraintViolations(ConstraintViolationException ex,
+			HttpServletRequest request) {
+
+		// Lançada pela validação de parâmetros em controllers @Validated (ex.: listas de DTOs)
+		ValidationError errors = new ValidationError(System.currentTimeMillis(), HttpStatus.BAD_REQUEST.value(),
+				"Fields Validation Error", "Erro na validação dos campos", request.getRequestURI());
+
+		for (ConstraintViolation<?> x : ex.getConstraintViolations()) {
+			// Remove o nome do método do caminho: "createLote.objDTOs[0].titulo" -> "objDTOs[0].titulo"
+			String path = x.getPropertyPath().toString();
+			errors.addErrors(path.substring(path.indexOf('.') + 1), x.getMessage());
+		}
+
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+
+	}
+
 }
\ No newline at end of file
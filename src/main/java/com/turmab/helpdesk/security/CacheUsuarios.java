@@ -0,0 +1,99 @@
+package com.turmab.helpdesk.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache dos {@link UserSS} carregados pelo {@link UserDetailsServiceImpl}, indexados pelo e-mail.
+ * <p>
+ * Evita a consulta da pessoa e dos seus perfis a cada requisição autenticada. As entradas vencem
+ * após <code>usuarios.cache.ttl-ms</code> e o cache é limitado a <code>usuarios.cache.max</code>
+ * usuários. Os serviços de Técnico e Cliente invalidam a entrada logo após gravar uma alteração,
+ * de modo que mudanças de perfil ou senha valem já na próxima requisição.
+ * </p>
+ * <p>
+ * Um contador de gerações impede que uma leitura iniciada antes de uma invalidação devolva ao
+ * cache os dados antigos.
+ * </p>
+ */
+@Component
+public class CacheUsuarios {
+
+    @Value("${usuarios.cache.ttl-ms:300000}")
+    private long ttl;
+
+    @Value("${usuarios.cache.max:10000}")
+    private int max;
+
+    private final Map<String, Entrada> cache = new ConcurrentHashMap<>();
+
+    private final AtomicLong geracao = new AtomicLong();
+
+    /**
+     * Retorna o usuário do cache ou o carrega, guardando o resultado.
+     *
+     * @param email e-mail do usuário
+     * @param loader função que carrega o usuário do banco (pode lançar exceção se ele não existir)
+     * @return o usuário
+     */
+    public UserSS buscar(String email, Function<String, UserSS> loader) {
+        long agora = System.currentTimeMillis();
+        Entrada entrada = cache.get(email);
+        if (entrada != null && agora < entrada.expiraEm) {
+            return entrada.usuario;
+        }
+
+        long geracaoInicial = geracao.get();
+        UserSS usuario = loader.apply(email);
+        if (cache.size() >= max) {
+            removerExpirados();
+        }
+        if (cache.size() < max) {
+            cache.put(email, new Entrada(usuario, agora + ttl));
+            // Se houve uma invalidação durante a leitura, o que foi lido pode estar desatualizado
+            if (geracao.get() != geracaoInicial) {
+                cache.remove(email);
+            }
+        }
+        return usuario;
+    }
+
+    /**
+     * Remove os usuários com os e-mails informados (ex.: o e-mail antigo e o novo de uma atualização).
+     *
+     * @param emails e-mails a invalidar (valores nulos são ignorados)
+     */
+    public void invalidar(String... emails) {
+        geracao.incrementAndGet();
+        for (String email : emails) {
+            if (email != null) {
+                cache.remove(email);
+            }
+        }
+    }
+
+    /**
+     * Descarta periodicamente as entradas vencidas.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void removerExpirados() {
+        long agora = System.currentTimeMillis();
+        cache.values().removeIf(e -> e.expiraEm <= agora);
+    }
+
+    private static final class Entrada {
+        private final UserSS usuario;
+        private final long expiraEm;
+
+        private Entrada(UserSS usuario, long expiraEm) {
+            this.usuario = usuario;
+            this.expiraEm = expiraEm;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.turmab.helpdesk.security;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.impl.DefaultClaims;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Codificador/decodificador de JWT assinados com HS512, reutilizável e seguro entre threads.
+ * <p>
+ * Produz e aceita o mesmo formato do jjwt (<code>Jwts.builder().signWith(HS512, chave)</code>),
+ * mas sem o custo por chamada do jjwt: a chave e o cabeçalho são calculados uma única vez, cada
+ * thread reaproveita a sua instância de {@link Mac}, e o payload é lido/escrito pelos
+ * leitores/escritores do Jackson criados na construção. A expiração é tratada como número
+ * (segundos), sem objetos Date.
+ * </p>
+ * <p>
+ * Apenas tokens com o cabeçalho exato <code>{"alg":"HS512"}</code> são aceitos, o que também
+ * descarta tokens com <code>alg</code> "none" ou outro algoritmo.
+ * </p>
+ */
+public final class CodecJWT {
+
+    private static final String ALGORITMO = "HmacSHA512";
+
+    /**
+     * Base64url de {"alg":"HS512"}, o cabeçalho gerado pelo jjwt.
+     */
+    private static final String CABECALHO = "eyJhbGciOiJIUzUxMiJ9";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec chave;
+    private final ThreadLocal<Mac> macs;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    /**
+     * @param chave bytes da chave secreta
+     * @param mapper ObjectMapper usado para o payload
+     */
+    public CodecJWT(byte[] chave, ObjectMapper mapper) {
+        this.chave = new SecretKeySpec(chave, ALGORITMO);
+        this.macs = ThreadLocal.withInitial(this::novoMac);
+        this.writer = mapper.writer();
+        this.reader = mapper.readerFor(new TypeReference<Map<String, Object>>() { });
+    }
+
+    /**
+     * Gera o token assinado com as claims informadas.
+     *
+     * @param claims as claims do token (a expiração, "exp", em segundos desde a época)
+     * @return o token JWT compacto
+     */
+    public String gerar(Map<String, Object> claims) {
+        try {
+            String conteudo = CABECALHO + '.' + ENCODER.encodeToString(writer.writeValueAsBytes(claims));
+            byte[] assinatura = macs.get().doFinal(conteudo.getBytes(StandardCharsets.US_ASCII));
+            return conteudo + '.' + ENCODER.encodeToString(assinatura);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Claims não serializáveis", e);
+        }
+    }
+
+    /**
+     * Verifica a assinatura do token e lê as suas claims. A expiração não é verificada aqui.
+     *
+     * @param token o token JWT compacto
+     * @return as claims, ou {@code null} se o token estiver malformado ou a assinatura não conferir
+     */
+    public Claims verificar(String token) {
+        if (token == null || !token.startsWith(CABECALHO + '.')) {
+            return null;
+        }
+        int fimPayload = token.indexOf('.', CABECALHO.length() + 1);
+        if (fimPayload < 0 || token.indexOf('.', fimPayload + 1) >= 0) {
+            return null;
+        }
+        try {
+            byte[] esperada = macs.get().doFinal(token.substring(0, fimPayload).getBytes(StandardCharsets.US_ASCII));
+            byte[] recebida = DECODER.decode(token.substring(fimPayload + 1));
+            if (!MessageDigest.isEqual(esperada, recebida)) {
+                return null;
+            }
+            Map<String, Object> claims = reader.readValue(DECODER.decode(
+                    token.substring(CABECALHO.length() + 1, fimPayload)));
+            return new DefaultClaims(claims);
+        } catch (IllegalArgumentException | IOException e) {
+            // Base64 ou JSON inválidos
+            return null;
+        }
+    }
+
+    private Mac novoMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITMO);
+            mac.init(chave);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e); // HmacSHA512 está presente em toda JVM
+        }
+    }
+}
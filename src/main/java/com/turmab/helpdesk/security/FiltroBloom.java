@@ -0,0 +1,78 @@
+package com.turmab.helpdesk.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom sobre strings, seguro para uso concorrente.
+ * <p>
+ * Responde "com certeza não contém" ou "talvez contenha": não há falsos negativos, e a taxa de
+ * falsos positivos fica próxima da configurada enquanto a quantidade de elementos não passar
+ * da capacidade. Elementos não podem ser removidos; para isso o filtro é reconstruído.
+ * </p>
+ */
+public final class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long tamanho;
+    private final int hashes;
+
+    /**
+     * @param capacidade quantidade de elementos esperada
+     * @param taxaFalsosPositivos taxa de falsos positivos desejada (ex.: 0.01)
+     */
+    public FiltroBloom(int capacidade, double taxaFalsosPositivos) {
+        int n = Math.max(capacidade, 1);
+        long m = (long) Math.ceil(-n * Math.log(taxaFalsosPositivos) / (Math.log(2) * Math.log(2)));
+        this.tamanho = Math.max(64, (m + 63) / 64 * 64);
+        this.hashes = Math.max(1, (int) Math.round((double) tamanho / n * Math.log(2)));
+        this.bits = new AtomicLongArray((int) (tamanho / 64));
+    }
+
+    public void adicionar(String valor) {
+        long h1 = fnv1a(valor);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, tamanho);
+            int palavra = (int) (bit >>> 6);
+            long mascara = 1L << (bit & 63);
+            long atual;
+            do {
+                atual = bits.get(palavra);
+                if ((atual & mascara) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(palavra, atual, atual | mascara));
+        }
+    }
+
+    public boolean talvezContenha(String valor) {
+        long h1 = fnv1a(valor);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, tamanho);
+            if ((bits.get((int) (bit >>> 6)) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long fnv1a(String valor) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Finalizador do SplitMix64, para derivar o segundo hash do primeiro.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
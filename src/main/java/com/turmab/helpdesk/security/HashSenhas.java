@@ -0,0 +1,142 @@
+package com.turmab.helpdesk.security;
+
+import com.turmab.helpdesk.service.exceptions.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link PasswordEncoder} que executa o BCrypt em um pool de threads dedicado e limitado.
+ * <p>
+ * Calcular ou conferir um hash BCrypt é propositalmente caro. Fazer isso nas threads do Tomcat
+ * permitiria que uma rajada de logins ocupasse todas elas e travasse os demais endpoints. Aqui o
+ * trabalho vai para <code>senhas.hash.threads</code> threads, com no máximo
+ * <code>senhas.hash.fila</code> tarefas aguardando; acima disso a operação é recusada com
+ * {@link TooManyRequestsException} (HTTP 429).
+ * </p>
+ * <p>
+ * É usado pelo AuthenticationManager (login), pelos serviços de Técnico e Cliente e pela
+ * importação em massa ({@link #encodeTodos}).
+ * </p>
+ */
+@Component
+public class HashSenhas implements PasswordEncoder {
+
+    @Value("${senhas.hash.threads:0}")
+    private int threads;
+
+    @Value("${senhas.hash.fila:100}")
+    private int fila;
+
+    @Autowired
+    private BCryptPasswordEncoder bCrypt;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        executor = new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila), r -> {
+                    Thread t = new Thread(r, "hash-senhas-" + contador.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executar(() -> bCrypt.encode(rawPassword));
+    }
+
+    /**
+     * Calcula os hashes de várias senhas em paralelo, usando as threads do pool.
+     * <p>
+     * Cada chamada mantém no máximo uma tarefa por thread em andamento, deixando a fila livre para
+     * os logins; se ainda assim a fila estiver cheia, aguarda a tarefa mais antiga da própria
+     * chamada antes de tentar de novo.
+     * </p>
+     *
+     * @param senhas As senhas em texto puro.
+     * @return Os hashes, na mesma ordem das senhas.
+     * @throws TooManyRequestsException Se a fila estiver cheia e não houver tarefa própria a aguardar.
+     */
+    public List<String> encodeTodos(List<? extends CharSequence> senhas) {
+        List<Future<String>> tarefas = new ArrayList<>(senhas.size());
+        int aguardadas = 0;
+        for (CharSequence senha : senhas) {
+            while (true) {
+                if (tarefas.size() - aguardadas >= executor.getMaximumPoolSize()) {
+                    aguardar(tarefas.get(aguardadas++));
+                }
+                try {
+                    tarefas.add(executor.submit(() -> bCrypt.encode(senha)));
+                    break;
+                } catch (RejectedExecutionException e) {
+                    if (aguardadas == tarefas.size()) {
+                        throw new TooManyRequestsException("Servidor ocupado. Tente novamente em instantes.", e);
+                    }
+                    aguardar(tarefas.get(aguardadas++));
+                }
+            }
+        }
+        List<String> hashes = new ArrayList<>(tarefas.size());
+        for (Future<String> tarefa : tarefas) {
+            hashes.add(aguardar(tarefa));
+        }
+        return hashes;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executar(() -> bCrypt.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return bCrypt.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        Future<T> future;
+        try {
+            future = executor.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("Servidor ocupado. Tente novamente em instantes.", e);
+        }
+        return aguardar(future);
+    }
+
+    private static <T> T aguardar(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o hash da senha", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            throw causa instanceof RuntimeException ? (RuntimeException) causa : new IllegalStateException(causa);
+        }
+    }
+}
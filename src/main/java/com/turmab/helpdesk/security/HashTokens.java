@@ -0,0 +1,34 @@
+package com.turmab.helpdesk.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 de tokens, usado como chave dos caches que não devem guardar o token em si.
+ * Cada thread reaproveita a sua instância de {@link MessageDigest}, sem a busca do provedor
+ * feita por <code>MessageDigest.getInstance</code> a cada chamada.
+ */
+final class HashTokens {
+
+    private static final ThreadLocal<MessageDigest> DIGESTS = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // SHA-256 está presente em toda JVM
+        }
+    });
+
+    private HashTokens() {
+    }
+
+    /**
+     * @param token o token
+     * @return o SHA-256 do token (UTF-8), pronto para ser usado como chave de um mapa
+     */
+    static ByteBuffer sha256(String token) {
+        // digest() também reinicia a instância para a próxima chamada
+        return ByteBuffer.wrap(DIGESTS.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -1,8 +1,14 @@
 package com.turmab.helpdesk.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.turmab.helpdesk.domain.dtos.CredenciaisDTO;
+import com.turmab.helpdesk.service.exceptions.TooManyRequestsException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
@@ -19,16 +25,25 @@ import java.util.Date;
 /**
  * Filtro de autenticação JWT.
  * Responsável por interceptar a requisição de /login e tentar autenticar o usuário.
+ * Em caso de sucesso, devolve o access token (Authorization) e um refresh token (Refresh-Token).
  */
 public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 
     private final AuthenticationManager authenticationManager;
     private final JWTUtil jwtUtil;
+    private final RefreshTokens refreshTokens;
+    private final LimitadorLogin limitador;
+    private final ObjectReader credenciaisReader;
 
-    public JWTAuthenticationFilter(AuthenticationManager authenticationManager, JWTUtil jwtUtil) {
+    public JWTAuthenticationFilter(AuthenticationManager authenticationManager, JWTUtil jwtUtil,
+                                   RefreshTokens refreshTokens, LimitadorLogin limitador, ObjectMapper objectMapper) {
         super();
+        // Leitor criado uma única vez e compartilhado entre as requisições (é imutável e thread-safe)
+        this.credenciaisReader = objectMapper.readerFor(CredenciaisDTO.class);
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
+        this.refreshTokens = refreshTokens;
+        this.limitador = limitador;
     }
 
     /**
@@ -37,16 +52,59 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
     @Override
     public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response)
             throws AuthenticationException {
+        // Limite por IP, antes mesmo de ler o corpo da requisição
+        long espera = limitador.tentativaIp(request.getRemoteAddr());
+        if (espera > 0) {
+            return muitasTentativas(response, espera);
+        }
+
+        CredenciaisDTO creds;
         try {
-            CredenciaisDTO creds = new ObjectMapper().readValue(request.getInputStream(), CredenciaisDTO.class);
-            UsernamePasswordAuthenticationToken authenticationToken =
-                    new UsernamePasswordAuthenticationToken(creds.getEmail(), creds.getSenha(), new ArrayList<>());
+            creds = credenciaisReader.readValue(request.getInputStream());
+        } catch (IOException e) {
+            throw new BadCredentialsException("Corpo do login inválido", e);
+        }
+        // Credenciais ausentes são recusadas sem consultar o banco nem calcular hash
+        if (creds.getEmail() == null || creds.getEmail().isEmpty() || creds.getSenha() == null) {
+            throw new BadCredentialsException("Email ou senha não informados");
+        }
+
+        // Limite por e-mail, antes de consultar o usuário e calcular o BCrypt
+        espera = limitador.tentativaEmail(creds.getEmail());
+        if (espera > 0) {
+            return muitasTentativas(response, espera);
+        }
+
+        UsernamePasswordAuthenticationToken authenticationToken =
+                new UsernamePasswordAuthenticationToken(creds.getEmail(), creds.getSenha(), new ArrayList<>());
+        try {
+            // Falhas de autenticação seguem para unsuccessfulAuthentication (401)
             return authenticationManager.authenticate(authenticationToken);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        } catch (TooManyRequestsException e) {
+            // Fila de hashes cheia: responde 429 e encerra o processamento do login
+            return tooManyRequests(response, e.getMessage());
         }
     }
 
+    private Authentication muitasTentativas(HttpServletResponse response, long segundos) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+        return tooManyRequests(response, "Muitas tentativas de login. Tente novamente em " + segundos + " s.");
+    }
+
+    /**
+     * Responde 429 diretamente. Retornar null encerra o processamento do login sem sucesso nem falha.
+     */
+    private Authentication tooManyRequests(HttpServletResponse response, String message) {
+        try {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setContentType("application/json");
+            response.getWriter().append(jsonError(HttpStatus.TOO_MANY_REQUESTS, message));
+        } catch (IOException io) {
+            throw new AuthenticationServiceException(message, io);
+        }
+        return null;
+    }
+
     /**
      * Executado quando a autenticação é bem-sucedida.
      * Gera o token JWT e o adiciona no header da resposta.
@@ -59,18 +117,25 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
         // MÉTODO CORRIGIDO E LIMPO, COM AS LINHAS DE DEBUG
         // =========================================================================================
 
-        // 1. Pega o username do usuário que foi autenticado com sucesso.
-        String username = ((UserSS) authResult.getPrincipal()).getUsername();
+        // 1. Pega o usuário que foi autenticado com sucesso.
+        UserSS user = (UserSS) authResult.getPrincipal();
+        String username = user.getUsername();
 
         // 2. Imprime no console para termos certeza de quem foi autenticado (nosso "dedo-duro").
         System.out.println(">>> [JWTAuthenticationFilter] Usuário autenticado com sucesso: " + username);
 
         // 3. Gera o token JWT para este usuário.
-        String token = jwtUtil.generateToken(username);
+        String token = jwtUtil.generateToken(user);
 
         // 4. Adiciona o token no cabeçalho da resposta.
         response.setHeader("Authorization", "Bearer " + token);
-        response.setHeader("access-control-expose-headers", "Authorization");
+        response.setHeader("access-control-expose-headers", "Authorization, " + RefreshTokens.HEADER);
+
+        // 4.1. Refresh token para renovar o access token sem repetir o login (e o BCrypt).
+        String refreshToken = refreshTokens.emitir(user);
+        if (refreshToken != null) {
+            response.setHeader(RefreshTokens.HEADER, refreshToken);
+        }
         
         // 5. Imprime no console para confirmar que o token foi gerado para o usuário correto.
         System.out.println(">>> [JWTAuthenticationFilter] Token gerado para o usuário: " + username);
@@ -97,4 +162,15 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
                 + "\"path\": \"/login\""
                 + "}";
     }
+
+    private CharSequence jsonError(HttpStatus status, String message) {
+        long date = new Date().getTime();
+        return "{"
+                + "\"timestamp\": " + date + ", "
+                + "\"status\": " + status.value() + ", "
+                + "\"error\": \"" + status.getReasonPhrase() + "\", "
+                + "\"message\": \"" + message + "\", "
+                + "\"path\": \"/login\""
+                + "}";
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.turmab.helpdesk.security;
 
+import io.jsonwebtoken.Claims;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,11 +21,17 @@ import java.io.IOException;
 public class JWTAuthorizationFilter extends BasicAuthenticationFilter {
 
     private JWTUtil jwtUtil;
+    private TokensVerificados tokensVerificados;
+    private TokensRevogados tokensRevogados;
     private UserDetailsService userDetailsService;
 
-    public JWTAuthorizationFilter(AuthenticationManager authenticationManager, JWTUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JWTAuthorizationFilter(AuthenticationManager authenticationManager, JWTUtil jwtUtil,
+                                  TokensVerificados tokensVerificados, TokensRevogados tokensRevogados,
+                                  UserDetailsService userDetailsService) {
         super(authenticationManager);
         this.jwtUtil = jwtUtil;
+        this.tokensVerificados = tokensVerificados;
+        this.tokensRevogados = tokensRevogados;
         this.userDetailsService = userDetailsService;
     }
 
@@ -45,12 +52,20 @@ public class JWTAuthorizationFilter extends BasicAuthenticationFilter {
             // Pega o token a partir do 7º caractere (depois de "Bearer ")
             String token = header.substring(7);
             
-            // Valida o token usando o JWTUtil
-            if (jwtUtil.tokenValido(token)) {
+            // Valida o token uma única vez (ou o encontra no cache de tokens já verificados)
+            Claims claims = tokensVerificados.verificar(token);
+            if (claims == null) {
+                 System.out.println(">>> [JWTAuthorizationFilter] ATENÇÃO: Token inválido recebido.");
+            } else if (tokensRevogados.revogado(claims.getId())) {
+                // A revogação (logout) é consultada primeiro no filtro de Bloom, sem acessar o banco;
+                // o token revogado segue sem autenticação e é recusado adiante
+            } else {
                 System.out.println(">>> [JWTAuthorizationFilter] Token é válido.");
                 
-                // Obtém o objeto de autenticação a partir do token
-                UsernamePasswordAuthenticationToken auth = getAuthentication(token);
+                // Obtém o objeto de autenticação a partir do token (autocontido) ou do usuário no banco
+                UsernamePasswordAuthenticationToken auth = jwtUtil.isAutocontido(claims)
+                        ? getAuthentication(claims)
+                        : getAuthentication(claims.getSubject());
                 
                 if (auth != null) {
                     System.out.println(">>> [JWTAuthorizationFilter] Autenticação criada com sucesso. Setando no contexto de segurança.");
@@ -58,8 +73,6 @@ public class JWTAuthorizationFilter extends BasicAuthenticationFilter {
                 } else {
                     System.out.println(">>> [JWTAuthorizationFilter] FALHA: Não foi possível criar a autenticação.");
                 }
-            } else {
-                 System.out.println(">>> [JWTAuthorizationFilter] ATENÇÃO: Token inválido recebido.");
             }
         } else {
             System.out.println(">>> [JWTAuthorizationFilter] Header 'Authorization' não encontrado ou mal formatado.");
@@ -71,12 +84,24 @@ public class JWTAuthorizationFilter extends BasicAuthenticationFilter {
     }
 
     /**
-     * Gera o objeto de autenticação do Spring Security a partir do token.
-     * @param token O token JWT válido.
+     * Gera o objeto de autenticação a partir das claims de um token autocontido, sem acessar o banco.
+     * @param claims As claims de um token JWT válido.
+     * @return O objeto de autenticação, ou null se as credenciais mudaram desde a emissão do token.
+     */
+    private UsernamePasswordAuthenticationToken getAuthentication(Claims claims) {
+        UserSS user = jwtUtil.getUsuario(claims);
+        if (user == null) {
+            return null; // Credenciais alteradas após a emissão do token
+        }
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    /**
+     * Gera o objeto de autenticação do Spring Security a partir do usuário do token.
+     * @param username O username (subject) de um token JWT válido.
      * @return Um objeto UsernamePasswordAuthenticationToken com os dados e permissões do usuário.
      */
-    private UsernamePasswordAuthenticationToken getAuthentication(String token) {
-        String username = jwtUtil.getUsername(token);
+    private UsernamePasswordAuthenticationToken getAuthentication(String username) {
         System.out.println(">>> [JWTAuthorizationFilter] Username extraído do token: " + username);
         
         if (username == null) {
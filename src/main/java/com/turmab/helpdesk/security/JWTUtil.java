@@ -1,13 +1,22 @@
 package com.turmab.helpdesk.security;
 
-import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turmab.helpdesk.domain.enums.Perfil;
+
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 
 /**
  * Utilitário para operações com JWT (JSON Web Token).
@@ -25,6 +34,10 @@ import io.jsonwebtoken.SignatureAlgorithm;
 @Component
 public class JWTUtil {
 
+    private static final String CLAIM_ID = "id";
+    private static final String CLAIM_PERFIS = "perfis";
+    private static final String CLAIM_VERSAO = "cv";
+
     /**
      * Tempo de expiração do token em milissegundos.
      * <p>
@@ -43,6 +56,32 @@ public class JWTUtil {
     @Value("${jwt.secret}")
     private String secret;
 
+    /**
+     * Modo de tokens autocontidos: o token carrega o ID, os perfis e a versão das credenciais,
+     * e a autorização é feita sem consultar o banco.
+     * <p>
+     * Valor é lido da propriedade <code>jwt.stateless</code> do arquivo de configuração.
+     * </p>
+     */
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
+
+    @Autowired
+    private VersoesCredenciais versoesCredenciais;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Codec HS512 com a chave calculada uma única vez na inicialização.
+     */
+    private CodecJWT codec;
+
+    @PostConstruct
+    void init() {
+        codec = new CodecJWT(secret.getBytes(), objectMapper);
+    }
+
     /**
      * Gera um token JWT para o e-mail (username) informado.
      *
@@ -50,6 +89,7 @@ public class JWTUtil {
      * O token conterá:
      * <ul>
      *   <li>O e-mail do usuário como "subject".</li>
+     *   <li>Um ID único (jti), que permite revogar o token.</li>
      *   <li>Data de expiração baseada no tempo atual + valor configurado em <code>expiration</code>.</li>
      *   <li>Assinatura com algoritmo HS512 e a chave secreta.</li>
      * </ul>
@@ -59,15 +99,82 @@ public class JWTUtil {
      * @return token JWT assinado
      */
     public String generateToken(String email) {
-        return Jwts.builder()
-                   // Define o "subject" (identificação do usuário) como o e-mail
-                   .setSubject(email)
-                   // Define a data de expiração (agora + tempo configurado)
-                   .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                   // Assina o token usando algoritmo HS512 e a chave secreta
-                   .signWith(SignatureAlgorithm.HS512, secret.getBytes())
-                   // Compacta e retorna o token em formato String
-                   .compact();
+        return codec.gerar(claimsBase(email));
+    }
+
+    /**
+     * Gera o token JWT para o usuário autenticado.
+     *
+     * <p>
+     * No modo autocontido (<code>jwt.stateless=true</code>) o token inclui também as claims
+     * <code>id</code>, <code>perfis</code> (códigos) e <code>cv</code> (versão das credenciais);
+     * caso contrário, equivale a {@link #generateToken(String)}.
+     * </p>
+     *
+     * @param user usuário autenticado
+     * @return token JWT assinado
+     */
+    public String generateToken(UserSS user) {
+        if (!stateless) {
+            return generateToken(user.getUsername());
+        }
+        List<Integer> perfis = user.getPerfis().stream().map(Perfil::getCodigo).collect(Collectors.toList());
+        Map<String, Object> claims = claimsBase(user.getUsername());
+        claims.put(CLAIM_ID, user.getId());
+        claims.put(CLAIM_PERFIS, perfis);
+        claims.put(CLAIM_VERSAO, versoesCredenciais.atual(user.getId()));
+        return codec.gerar(claims);
+    }
+
+    /**
+     * Claims comuns a todos os tokens.
+     */
+    private Map<String, Object> claimsBase(String email) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        // Define o "subject" (identificação do usuário) como o e-mail
+        claims.put(Claims.SUBJECT, email);
+        // ID único do token (jti), usado na revogação
+        claims.put(Claims.ID, UUID.randomUUID().toString());
+        // Data de expiração (agora + tempo configurado), em segundos como manda a especificação
+        claims.put(Claims.EXPIRATION, (System.currentTimeMillis() + expiration) / 1000);
+        return claims;
+    }
+
+    /**
+     * Indica se as claims são de um token autocontido e se o modo autocontido está ativo.
+     * Tokens emitidos antes da ativação do modo continuam sendo autorizados pelo banco.
+     *
+     * @param claims claims de um token já validado
+     * @return {@code true} se o usuário pode ser montado a partir das claims
+     */
+    public boolean isAutocontido(Claims claims) {
+        return stateless && claims.get(CLAIM_ID) != null && claims.get(CLAIM_VERSAO) != null;
+    }
+
+    /**
+     * Monta o usuário a partir das claims de um token autocontido, sem consultar o banco.
+     *
+     * @param claims claims de um token autocontido já validado
+     * @return o usuário (sem senha), ou {@code null} se a pessoa foi alterada ou excluída após a emissão
+     */
+    public UserSS getUsuario(Claims claims) {
+        Integer id = claims.get(CLAIM_ID, Integer.class);
+        if (!versoesCredenciais.vigente(id, claims.get(CLAIM_VERSAO, Integer.class))) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        List<Integer> codigos = claims.get(CLAIM_PERFIS, List.class);
+        Set<Perfil> perfis = codigos.stream().map(Perfil::toEnum).collect(Collectors.toSet());
+        return new UserSS(id, claims.getSubject(), null, perfis);
+    }
+
+    /**
+     * Tempo máximo de vida de um token emitido, em milissegundos.
+     *
+     * @return o valor de <code>jwt.expiration</code>
+     */
+    public long getExpiration() {
+        return expiration;
     }
 
     /**
@@ -86,23 +193,33 @@ public class JWTUtil {
      * @return {@code true} se o token for válido, caso contrário {@code false}
      */
     public boolean tokenValido(String token) {
+        return getClaimsValidas(token) != null;
+    }
+
+    /**
+     * Faz o parsing e a verificação do token uma única vez, retornando as claims se ele for válido
+     * segundo as mesmas regras de {@link #tokenValido(String)}.
+     *
+     * @param token token JWT a ser validado
+     * @return as {@link Claims} do token, ou {@code null} se ele for inválido ou estiver expirado
+     */
+    public Claims getClaimsValidas(String token) {
         // Obtém as claims (informações) contidas no token
         Claims claims = getClaims(token);
         if (claims != null) {
             // Subject (nome de usuário) do token
             String username = claims.getSubject();
-            // Data de expiração
-            Date expirationDate = claims.getExpiration();
-            // Data/hora atual
-            Date now = new Date(System.currentTimeMillis());
+            // Data de expiração, em segundos (lida como número, sem criar Date)
+            Object exp = claims.get(Claims.EXPIRATION);
 
             // Token é válido se possuir subject, data de expiração
             // e a data atual for anterior à expiração
-            if (username != null && expirationDate != null && now.before(expirationDate)) {
-                return true;
+            if (username != null && exp instanceof Number
+                    && System.currentTimeMillis() < ((Number) exp).longValue() * 1000) {
+                return claims;
             }
         }
-        return false;
+        return null;
     }
 
     /**
@@ -117,16 +234,8 @@ public class JWTUtil {
      * @return objeto {@link Claims} com os dados do token ou {@code null} se o token for inválido
      */
     private Claims getClaims(String token) {
-        try {
-            // Faz o parsing do token usando a chave secreta para validar a assinatura
-            return Jwts.parser()
-                       .setSigningKey(secret.getBytes())
-                       .parseClaimsJws(token)
-                       .getBody();
-        } catch (Exception e) {
-            // Em caso de erro (token inválido, assinatura incorreta, expirado etc.) retorna null
-            return null;
-        }
+        // Verifica a assinatura com a chave pré-calculada; token inválido ou adulterado retorna null
+        return codec.verificar(token);
     }
 
     /**
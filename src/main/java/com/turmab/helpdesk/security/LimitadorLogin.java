@@ -0,0 +1,129 @@
+package com.turmab.helpdesk.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limite de tentativas de login por IP e por e-mail, aplicado antes de qualquer trabalho caro.
+ * <p>
+ * Cada IP e cada e-mail tem um "balde" de fichas: cada tentativa consome uma ficha e as fichas
+ * são repostas a uma taxa constante até a capacidade do balde. Sem fichas, o login é recusado
+ * com 429 sem ler o corpo (limite por IP) ou sem calcular o BCrypt (limite por e-mail).
+ * </p>
+ * <p>
+ * O balde é implementado sem locks (GCRA): o estado é um único instante teórico de chegada,
+ * atualizado por compare-and-set. Baldes que já se encheram de novo equivalem a baldes novos e
+ * são removidos periodicamente. As métricas <code>login.limite.recusas</code> e
+ * <code>login.limite.baldes</code> (tag chave=ip/email) ficam disponíveis no Actuator.
+ * </p>
+ */
+@Component
+public class LimitadorLogin {
+
+    @Value("${login.limite.ip.capacidade:20}")
+    private int capacidadeIp;
+    @Value("${login.limite.ip.por-minuto:10}")
+    private int porMinutoIp;
+    @Value("${login.limite.email.capacidade:5}")
+    private int capacidadeEmail;
+    @Value("${login.limite.email.por-minuto:3}")
+    private int porMinutoEmail;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private Baldes ips;
+    private Baldes emails;
+
+    @PostConstruct
+    void init() {
+        ips = new Baldes("ip", capacidadeIp, porMinutoIp);
+        emails = new Baldes("email", capacidadeEmail, porMinutoEmail);
+    }
+
+    /**
+     * Consome uma tentativa do IP.
+     *
+     * @param ip endereço do cliente
+     * @return 0 se a tentativa é permitida, ou os segundos até a próxima tentativa permitida
+     */
+    public long tentativaIp(String ip) {
+        return ips.consumir(ip);
+    }
+
+    /**
+     * Consome uma tentativa do e-mail (sem diferenciar maiúsculas).
+     *
+     * @param email e-mail informado no login
+     * @return 0 se a tentativa é permitida, ou os segundos até a próxima tentativa permitida
+     */
+    public long tentativaEmail(String email) {
+        return emails.consumir(email.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Remove os baldes cheios (ociosos), que não guardam nenhuma informação.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void removerOciosos() {
+        long agora = System.nanoTime();
+        ips.removerOciosos(agora);
+        emails.removerOciosos(agora);
+    }
+
+    private final class Baldes {
+
+        private final ConcurrentHashMap<String, AtomicLong> chegadas = new ConcurrentHashMap<>();
+
+        /**
+         * Intervalo de reposição de uma ficha, em nanossegundos.
+         */
+        private final long intervalo;
+
+        /**
+         * Quanto o instante teórico pode estar à frente de agora (capacidade - 1 fichas).
+         */
+        private final long tolerancia;
+
+        private final Counter recusas;
+
+        private Baldes(String chave, int capacidade, int porMinuto) {
+            this.intervalo = TimeUnit.MINUTES.toNanos(1) / Math.max(porMinuto, 1);
+            this.tolerancia = intervalo * (Math.max(capacidade, 1) - 1);
+            this.recusas = registry.counter("login.limite.recusas", "chave", chave);
+            registry.gaugeMapSize("login.limite.baldes", Tags.of("chave", chave), chegadas);
+        }
+
+        private long consumir(String chave) {
+            AtomicLong chegada = chegadas.computeIfAbsent(chave, k -> new AtomicLong(Long.MIN_VALUE));
+            while (true) {
+                long agora = System.nanoTime();
+                long atual = chegada.get();
+                long base = atual == Long.MIN_VALUE || atual - agora < 0 ? agora : atual;
+                long espera = base - tolerancia - agora;
+                if (espera > 0) {
+                    recusas.increment();
+                    return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(espera + TimeUnit.SECONDS.toNanos(1) - 1));
+                }
+                if (chegada.compareAndSet(atual, base + intervalo)) {
+                    return 0;
+                }
+            }
+        }
+
+        private void removerOciosos(long agora) {
+            chegadas.values().removeIf(c -> c.get() == Long.MIN_VALUE || c.get() - agora <= 0);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.turmab.helpdesk.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Armazena os refresh tokens emitidos no login.
+ * <p>
+ * O refresh token é um valor aleatório opaco (256 bits), sem relação com o JWT. Ele permite obter
+ * um novo access token em <code>POST /auth/refresh</code> sem reenviar a senha, ou seja, sem
+ * recalcular o BCrypt. Cada refresh token vale para uma única renovação, que devolve um novo
+ * refresh token (rotação). Também deixa de valer quando as credenciais da pessoa mudam.
+ * </p>
+ * <p>
+ * Apenas o SHA-256 do token fica em memória. O armazenamento é limitado a
+ * <code>jwt.refresh.max-tokens</code> entradas; acima disso, os tokens vencidos são descartados
+ * e, se ainda não houver espaço, nenhum refresh token é emitido (o cliente volta a usar o login).
+ * </p>
+ */
+@Component
+public class RefreshTokens {
+
+    /**
+     * Cabeçalho em que o refresh token é entregue no login e recebido na renovação.
+     */
+    public static final String HEADER = "Refresh-Token";
+
+    private static final int TAMANHO_BYTES = 32;
+
+    @Value("${jwt.refresh.expiration:2592000000}")
+    private long expiration;
+
+    @Value("${jwt.refresh.max-tokens:100000}")
+    private int maxTokens;
+
+    @Autowired
+    private VersoesCredenciais versoesCredenciais;
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * SHA-256 do refresh token -> sessão.
+     */
+    private final Map<ByteBuffer, Sessao> sessoes = new ConcurrentHashMap<>();
+
+    /**
+     * Emite um novo refresh token para o usuário.
+     *
+     * @param user usuário autenticado
+     * @return o refresh token, ou {@code null} se o armazenamento estiver cheio
+     */
+    public String emitir(UserSS user) {
+        if (sessoes.size() >= maxTokens) {
+            removerExpirados();
+            if (sessoes.size() >= maxTokens) {
+                return null;
+            }
+        }
+        byte[] bytes = new byte[TAMANHO_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        sessoes.put(HashTokens.sha256(token), new Sessao(user.getId(), user.getUsername(),
+                versoesCredenciais.atual(user.getId()), System.currentTimeMillis() + expiration));
+        return token;
+    }
+
+    /**
+     * Consome um refresh token: ele é removido e não pode ser usado novamente.
+     *
+     * @param token refresh token recebido
+     * @return o usuário da sessão, ou {@code null} se o token for desconhecido, já usado, vencido,
+     * ou se as credenciais da pessoa mudaram desde a emissão
+     */
+    public UserSS consumir(String token) {
+        if (token == null) {
+            return null;
+        }
+        Sessao sessao = sessoes.remove(HashTokens.sha256(token));
+        if (sessao == null || sessao.expiraEm <= System.currentTimeMillis()
+                || !versoesCredenciais.vigente(sessao.id, sessao.versao)) {
+            return null;
+        }
+        try {
+            return (UserSS) userDetailsService.loadUserByUsername(sessao.email);
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Descarta um refresh token sem usá-lo (logout).
+     *
+     * @param token refresh token a descartar
+     */
+    public void revogar(String token) {
+        if (token != null) {
+            sessoes.remove(HashTokens.sha256(token));
+        }
+    }
+
+    /**
+     * Descarta periodicamente os refresh tokens vencidos.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void removerExpirados() {
+        long agora = System.currentTimeMillis();
+        sessoes.values().removeIf(s -> s.expiraEm <= agora);
+    }
+
+
+    private static final class Sessao {
+        private final Integer id;
+        private final String email;
+        private final Integer versao;
+        private final long expiraEm;
+
+        private Sessao(Integer id, String email, Integer versao, long expiraEm) {
+            this.id = id;
+            this.email = email;
+            this.versao = versao;
+            this.expiraEm = expiraEm;
+        }
+    }
+}
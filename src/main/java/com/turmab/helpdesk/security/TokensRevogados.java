@@ -0,0 +1,95 @@
+package com.turmab.helpdesk.security;
+
+import com.turmab.helpdesk.domain.TokenRevogado;
+import com.turmab.helpdesk.repositories.TokenRevogadoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Instant;
+
+/**
+ * Lista de tokens JWT revogados (por jti).
+ * <p>
+ * As revogações são gravadas na tabela TokenRevogado até a expiração do token. A consulta feita
+ * a cada requisição passa antes por um {@link FiltroBloom} em memória: no caso comum (token não
+ * revogado) o filtro responde sozinho, e o banco só é consultado quando ele indica uma possível
+ * revogação. O filtro é montado a partir da tabela na criação do bean, antes de o servidor aceitar
+ * requisições, e remontado após cada
+ * limpeza das revogações expiradas (<code>jwt.revogacao.limpeza-ms</code>).
+ * </p>
+ */
+@Component
+public class TokensRevogados {
+
+    @Value("${jwt.revogacao.capacidade:100000}")
+    private int capacidade;
+
+    @Value("${jwt.revogacao.falsos-positivos:0.01}")
+    private double falsosPositivos;
+
+    @Autowired
+    private TokenRevogadoRepository repository;
+
+    private volatile FiltroBloom filtro;
+
+    /**
+     * Filtro em construção durante uma reconstrução; também recebe as revogações feitas nesse meio tempo.
+     */
+    private volatile FiltroBloom reconstruindo;
+
+    /**
+     * Revoga um token até a sua expiração.
+     *
+     * @param jti o ID do token
+     * @param expiraEm a expiração do token
+     */
+    public void revogar(String jti, Instant expiraEm) {
+        repository.save(new TokenRevogado(jti, expiraEm)); // Com o ID atribuído, o save já faz o merge
+        // Lê o filtro em construção antes do atual: se a troca acontecer entre as duas leituras,
+        // o jti vai para o novo filtro por um dos caminhos (a gravação acima já precede a leitura do banco)
+        FiltroBloom novo = reconstruindo;
+        filtro.adicionar(jti);
+        if (novo != null) {
+            novo.adicionar(jti);
+        }
+    }
+
+    /**
+     * Verifica se o token foi revogado.
+     *
+     * @param jti o ID do token (tokens sem jti não podem ser revogados)
+     * @return {@code true} se o token foi revogado
+     */
+    public boolean revogado(String jti) {
+        if (jti == null || !filtro.talvezContenha(jti)) {
+            return false;
+        }
+        return repository.existsById(jti);
+    }
+
+    /**
+     * Monta o filtro de Bloom a partir das revogações gravadas. Roda na criação do bean, antes de o
+     * servidor aceitar requisições, para que nenhuma revogação passe despercebida após um reinício.
+     */
+    @PostConstruct
+    public synchronized void reconstruir() {
+        FiltroBloom novo = new FiltroBloom(capacidade, falsosPositivos);
+        reconstruindo = novo;
+        repository.findJtiVigentes(Instant.now()).forEach(novo::adicionar);
+        filtro = novo;
+        reconstruindo = null;
+    }
+
+    /**
+     * Remove as revogações expiradas e remonta o filtro sem elas.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revogacao.limpeza-ms:3600000}",
+            initialDelayString = "${jwt.revogacao.limpeza-ms:3600000}")
+    public void limpar() {
+        repository.deleteExpirados(Instant.now());
+        reconstruir();
+    }
+}
@@ -0,0 +1,116 @@
+package com.turmab.helpdesk.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache dos tokens JWT já verificados.
+ * <p>
+ * O parsing e a verificação da assinatura HMAC-SHA512 são feitos apenas na primeira vez que
+ * um token é recebido; nas requisições seguintes as claims são obtidas da memória até a expiração
+ * do próprio token. A chave do cache é o SHA-256 do token, de modo que os tokens em si não ficam
+ * guardados. Tokens inválidos nunca são armazenados.
+ * </p>
+ * <p>
+ * O cache é limitado a <code>jwt.cache.max-tokens</code> entradas; quando está cheio, uma entrada
+ * qualquer é descartada para dar lugar ao novo token. Os tokens expirados são removidos por uma
+ * limpeza periódica, fora das requisições.
+ * As métricas <code>jwt.cache.requests</code> (result=hit/miss) e <code>jwt.cache.size</code>
+ * ficam disponíveis no Actuator.
+ * </p>
+ */
+@Component
+public class TokensVerificados {
+
+    @Value("${jwt.cache.max-tokens:10000}")
+    private int maxTokens;
+
+    @Autowired
+    private JWTUtil jwtUtil;
+    @Autowired
+    private MeterRegistry registry;
+
+    /**
+     * SHA-256 do token -> claims e expiração.
+     */
+    private final Map<ByteBuffer, TokenVerificado> cache = new ConcurrentHashMap<>();
+
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    void init() {
+        hits = registry.counter("jwt.cache.requests", "result", "hit");
+        misses = registry.counter("jwt.cache.requests", "result", "miss");
+        registry.gaugeMapSize("jwt.cache.size", Collections.emptyList(), cache);
+    }
+
+    /**
+     * Verifica o token, consultando primeiro o cache.
+     *
+     * @param token token JWT recebido no cabeçalho Authorization
+     * @return as claims do token, ou {@code null} se ele for inválido ou estiver expirado
+     */
+    public Claims verificar(String token) {
+        ByteBuffer chave = HashTokens.sha256(token);
+        long agora = System.currentTimeMillis();
+
+        TokenVerificado verificado = cache.get(chave);
+        if (verificado != null) {
+            if (agora < verificado.expiraEm) {
+                hits.increment();
+                return verificado.claims;
+            }
+            cache.remove(chave, verificado);
+        }
+        misses.increment();
+
+        Claims claims = jwtUtil.getClaimsValidas(token);
+        if (claims == null) {
+            return null;
+        }
+        if (cache.size() >= maxTokens) {
+            // Cheio: descarta uma entrada qualquer em vez de varrer o cache na thread da requisição;
+            // como a chave é um SHA-256, a ordem de iteração equivale a uma escolha aleatória
+            Iterator<ByteBuffer> it = cache.keySet().iterator();
+            if (it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        cache.put(chave, new TokenVerificado(claims, claims.getExpiration().getTime()));
+        return claims;
+    }
+
+    /**
+     * Descarta periodicamente os tokens que já expiraram.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void removerExpirados() {
+        long agora = System.currentTimeMillis();
+        cache.values().removeIf(t -> t.expiraEm <= agora);
+    }
+
+
+    private static final class TokenVerificado {
+        private final Claims claims;
+        private final long expiraEm;
+
+        private TokenVerificado(Claims claims, long expiraEm) {
+            this.claims = claims;
+            this.expiraEm = expiraEm;
+        }
+    }
+}
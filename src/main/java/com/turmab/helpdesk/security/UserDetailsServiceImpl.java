@@ -25,9 +25,12 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
     @Autowired
     private PessoaRepository pessoaRepository;
+    @Autowired
+    private CacheUsuarios cacheUsuarios;
 
     /**
      * Carrega o usuário a partir do e-mail informado.
+     * O resultado fica no {@link CacheUsuarios}, evitando consultar o banco a cada requisição.
      *
      * @param email e-mail do usuário informado no login
      * @return instância de {@link UserSS} contendo ID, e-mail, senha e perfis/roles
@@ -35,6 +38,10 @@ public class UserDetailsServiceImpl implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        return cacheUsuarios.buscar(email, this::carregar);
+    }
+
+    private UserSS carregar(String email) {
         // =================================================================================
         // LINHA DE DEBUG ADICIONADA PARA VERIFICAR O E-MAIL RECEBIDO
         System.out.println(">>> [UserDetailsService] Buscando usuário pelo email: " + email);
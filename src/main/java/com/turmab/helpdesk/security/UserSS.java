@@ -5,9 +5,11 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Implementação de UserDetails do Spring Security.
@@ -17,17 +19,34 @@ import java.util.stream.Collectors;
 public class UserSS implements UserDetails {
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Authorities de cada combinação de perfis, indexadas pela máscara de bits dos perfis.
+     * Montadas uma única vez e compartilhadas (imutáveis) por todos os usuários.
+     */
+    private static final List<List<GrantedAuthority>> AUTHORITIES = new ArrayList<>();
+
+    static {
+        for (int mascara = 0; mascara < 1 << Perfil.values().length; mascara++) {
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            for (Perfil x : Perfil.daMascara(mascara)) {
+                authorities.add(new SimpleGrantedAuthority("ROLE_" + x.getDescricao()));
+            }
+            AUTHORITIES.add(Collections.unmodifiableList(authorities));
+        }
+    }
+
     private Integer id;
     private String email;
     private String senha;
+    private Set<Perfil> perfis;
     private Collection<? extends GrantedAuthority> authorities;
 
     public UserSS() {
     }
 
     /**
-     * Construtor que recebe os dados do usuário e converte os perfis para o formato
-     * que o Spring Security espera (GrantedAuthority com prefixo ROLE_).
+     * Construtor que recebe os dados do usuário e associa as authorities dos seus perfis
+     * no formato que o Spring Security espera (GrantedAuthority com prefixo ROLE_).
      *
      * @param id O ID do usuário.
      * @param email O email (username) do usuário.
@@ -38,16 +57,19 @@ public class UserSS implements UserDetails {
         this.id = id;
         this.email = email;
         this.senha = senha;
-        // ALTERAÇÃO CRÍTICA AQUI: Adiciona o prefixo "ROLE_" a cada perfil
-        this.authorities = perfis.stream()
-                .map(x -> new SimpleGrantedAuthority("ROLE_" + x.getDescricao()))
-                .collect(Collectors.toSet());
+        this.perfis = perfis;
+        // Authorities com o prefixo "ROLE_", já montadas para esta combinação de perfis
+        this.authorities = AUTHORITIES.get(Perfil.mascara(perfis));
     }
 
     public Integer getId() {
         return id;
     }
 
+    public Set<Perfil> getPerfis() {
+        return perfis;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
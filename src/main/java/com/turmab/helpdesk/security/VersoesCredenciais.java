@@ -0,0 +1,79 @@
+package com.turmab.helpdesk.security;
+
+import com.turmab.helpdesk.repositories.PessoaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mapa em memória ID da pessoa -> versão das credenciais.
+ * <p>
+ * No modo de tokens autocontidos (<code>jwt.stateless=true</code>) é a única informação consultada
+ * para autorizar uma requisição: o token carrega a versão vigente na emissão e é recusado se a
+ * pessoa tiver sido alterada (versão maior) ou excluída (ausente do mapa) depois disso.
+ * </p>
+ * <p>
+ * É carregado do banco na inicialização e mantido pelos serviços de Técnico e Cliente a cada
+ * gravação. Cada instância da aplicação mantém o seu próprio mapa.
+ * </p>
+ */
+@Component
+public class VersoesCredenciais {
+
+    private final Map<Integer, Integer> versoes = new ConcurrentHashMap<>();
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    /**
+     * Carrega as versões de todas as pessoas quando a aplicação termina de subir.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        for (Object[] row : pessoaRepository.findVersoesCredenciais()) {
+            versoes.put((Integer) row[0], (Integer) row[1]);
+        }
+    }
+
+    /**
+     * @param id O ID da pessoa.
+     * @return A versão atual das credenciais, ou {@code null} se a pessoa não existir.
+     */
+    public Integer atual(Integer id) {
+        return versoes.get(id);
+    }
+
+    /**
+     * Verifica se a versão informada (vinda de um token) ainda é a vigente.
+     *
+     * @param id O ID da pessoa.
+     * @param versao A versão registrada no token.
+     * @return {@code true} se a pessoa existe e a versão é a atual.
+     */
+    public boolean vigente(Integer id, Integer versao) {
+        return versao != null && versao.equals(versoes.get(id));
+    }
+
+    /**
+     * Registra a versão gravada para uma pessoa (criação ou atualização).
+     *
+     * @param id O ID da pessoa.
+     * @param versao A nova versão.
+     */
+    public void atualizar(Integer id, Integer versao) {
+        versoes.merge(id, versao, Math::max);
+    }
+
+    /**
+     * Remove uma pessoa excluída, invalidando todos os seus tokens.
+     *
+     * @param id O ID da pessoa.
+     */
+    public void remover(Integer id) {
+        versoes.remove(id);
+    }
+}
@@ -0,0 +1,108 @@
+package com.turmab.helpdesk.service;
+
+import com.turmab.helpdesk.domain.dtos.CargaTecnicoDTO;
+import com.turmab.helpdesk.domain.enums.Prioridade;
+import com.turmab.helpdesk.domain.enums.Status;
+import com.turmab.helpdesk.repositories.ChamadoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Carga de trabalho (chamados ABERTO/ANDAMENTO por prioridade) de todos os técnicos, para GET /tecnicos/carga.
+ * <p>
+ * A lista é montada com uma única consulta agrupada e guardada por <code>tecnicos.carga.ttl-ms</code>.
+ * Qualquer gravação de chamado ou de técnico a invalida; a próxima leitura consulta o banco novamente.
+ * Enquanto a lista é válida, as leituras não acessam o banco nem bloqueiam.
+ * </p>
+ */
+@Component
+public class CargaTecnicos {
+
+    private static final List<Status> EM_ABERTO = Arrays.asList(Status.ABERTO, Status.ANDAMENTO);
+
+    @Value("${tecnicos.carga.ttl-ms:5000}")
+    private long ttl;
+
+    @Autowired
+    private ChamadoRepository repository;
+
+    private volatile Instantaneo atual;
+
+    private final AtomicLong geracao = new AtomicLong();
+
+    /**
+     * Retorna a carga de cada técnico, do menos para o mais ocupado.
+     *
+     * @return A lista (somente leitura) com a carga de todos os técnicos.
+     */
+    public List<CargaTecnicoDTO> listar() {
+        Instantaneo instantaneo = atual;
+        if (instantaneo != null && System.currentTimeMillis() < instantaneo.expiraEm) {
+            return instantaneo.cargas;
+        }
+        synchronized (this) {
+            // Outra thread pode ter recarregado enquanto esta aguardava
+            instantaneo = atual;
+            if (instantaneo != null && System.currentTimeMillis() < instantaneo.expiraEm) {
+                return instantaneo.cargas;
+            }
+            long geracaoInicial = geracao.get();
+            List<CargaTecnicoDTO> cargas = carregar();
+            // Se houve uma gravação durante a consulta, o resultado é usado só nesta resposta
+            if (geracao.get() == geracaoInicial) {
+                atual = new Instantaneo(cargas, System.currentTimeMillis() + ttl);
+            }
+            return cargas;
+        }
+    }
+
+    /**
+     * Descarta a lista atual. Chamado a cada gravação de chamado ou de técnico.
+     */
+    public void invalidar() {
+        geracao.incrementAndGet();
+        atual = null;
+    }
+
+    private List<CargaTecnicoDTO> carregar() {
+        Map<Integer, CargaTecnicoDTO> porTecnico = new LinkedHashMap<>();
+        for (Object[] row : repository.countByTecnicoAndStatusIn(EM_ABERTO)) {
+            CargaTecnicoDTO carga = porTecnico.computeIfAbsent((Integer) row[0], id -> new CargaTecnicoDTO(id, (String) row[1]));
+            Status status = (Status) row[2];
+            Prioridade prioridade = (Prioridade) row[3];
+            long quantidade = (Long) row[4];
+            if (status == null) {
+                continue; // Técnico sem chamados em aberto
+            }
+            if (status == Status.ABERTO) {
+                carga.setAbertos(carga.getAbertos() + quantidade);
+            } else {
+                carga.setEmAndamento(carga.getEmAndamento() + quantidade);
+            }
+            carga.getPrioridades().merge(prioridade.getDescricao(), quantidade, Long::sum);
+        }
+        List<CargaTecnicoDTO> cargas = new ArrayList<>(porTecnico.values());
+        cargas.sort(Comparator.comparingLong(CargaTecnicoDTO::getTotal).thenComparing(CargaTecnicoDTO::getId));
+        return Collections.unmodifiableList(cargas);
+    }
+
+    private static final class Instantaneo {
+        final List<CargaTecnicoDTO> cargas;
+        final long expiraEm;
+
+        Instantaneo(List<CargaTecnicoDTO> cargas, long expiraEm) {
+            this.cargas = cargas;
+            this.expiraEm = expiraEm;
+        }
+    }
+}
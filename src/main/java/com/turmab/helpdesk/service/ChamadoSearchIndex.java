@@ -0,0 +1,224 @@
+package com.turmab.helpdesk.service;
+
+import com.turmab.helpdesk.repositories.ChamadoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido em memória sobre o título e as observações dos chamados.
+ * <p>
+ * Os textos são normalizados (minúsculas, sem acentos) e quebrados em termos; cada termo aponta
+ * para os chamados que o contêm e a frequência com que aparece (termos do título valem mais).
+ * A busca calcula um ranking TF-IDF sem acessar o banco de dados.
+ * </p>
+ * <p>
+ * O índice é reconstruído em paralelo na inicialização e mantido de forma incremental pelo
+ * {@link ChamadoService} a cada criação ou atualização de chamado.
+ * </p>
+ */
+@Component
+public class ChamadoSearchIndex {
+
+    /**
+     * Peso de cada ocorrência de um termo no título, em relação às observações.
+     */
+    private static final int PESO_TITULO = 3;
+
+    /**
+     * Quantidade de chamados tokenizados por lote durante a reconstrução.
+     */
+    private static final int TAMANHO_LOTE = 1000;
+
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOPWORDS = new HashSet<>(Arrays.asList(
+            "a", "o", "as", "os", "ao", "aos", "de", "da", "do", "das", "dos", "e", "em", "no", "na", "nos",
+            "nas", "um", "uma", "uns", "umas", "para", "pra", "por", "com", "sem", "que", "se", "nao", "ou"));
+
+    /**
+     * Termo -> (ID do chamado -> frequência ponderada).
+     */
+    private final Map<String, Map<Integer, Integer>> postings = new ConcurrentHashMap<>();
+
+    /**
+     * ID do chamado -> versão e termos indexados, usado para remover as entradas antigas na atualização
+     * e para descartar uma versão que chegue depois de outra mais nova.
+     */
+    private final Map<Integer, Documento> documentos = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ChamadoRepository repository;
+
+    /**
+     * Reconstrói o índice a partir do banco quando a aplicação termina de subir.
+     * Os chamados são lidos por um cursor e tokenizados em paralelo, lote a lote.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        postings.clear();
+        documentos.clear();
+
+        try (Stream<Object[]> stream = repository.streamTextos()) {
+            List<Object[]> lote = new ArrayList<>(TAMANHO_LOTE);
+            Iterator<Object[]> it = stream.iterator();
+            while (it.hasNext()) {
+                lote.add(it.next());
+                if (lote.size() == TAMANHO_LOTE || !it.hasNext()) {
+                    lote.parallelStream().forEach(row ->
+                            indexar((Integer) row[0], (Integer) row[1], (String) row[2], (String) row[3]));
+                    lote.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Indexa (ou reindexa) um chamado, substituindo os termos anteriores.
+     * Se o índice já tiver uma versão mais nova do chamado, a chamada é ignorada.
+     *
+     * @param id O ID do chamado.
+     * @param versao A versão do chamado.
+     * @param titulo O título do chamado.
+     * @param observacoes As observações do chamado.
+     */
+    public void indexar(Integer id, Integer versao, String titulo, String observacoes) {
+        Map<String, Integer> termos = new HashMap<>();
+        tokenizar(titulo).forEach(t -> termos.merge(t, PESO_TITULO, Integer::sum));
+        tokenizar(observacoes).forEach(t -> termos.merge(t, 1, Integer::sum));
+
+        // O compute serializa as atualizações do mesmo chamado
+        documentos.compute(id, (key, anterior) -> {
+            if (anterior != null) {
+                if (anterior.versao > versao) {
+                    return anterior;
+                }
+                anterior.termos.keySet().stream().filter(t -> !termos.containsKey(t)).forEach(t -> removerPosting(t, id));
+            }
+            termos.forEach((t, freq) -> postings.compute(t, (k, docs) -> {
+                Map<Integer, Integer> result = docs != null ? docs : new ConcurrentHashMap<>();
+                result.put(id, freq);
+                return result;
+            }));
+            return new Documento(versao, termos);
+        });
+    }
+
+    /**
+     * Remove um chamado do índice.
+     *
+     * @param id O ID do chamado.
+     */
+    public void remover(Integer id) {
+        documentos.computeIfPresent(id, (key, anterior) -> {
+            anterior.termos.keySet().forEach(t -> removerPosting(t, id));
+            return null;
+        });
+    }
+
+    /**
+     * Busca os chamados que contêm os termos informados, do mais para o menos relevante.
+     *
+     * @param consulta O texto da busca.
+     * @param limite A quantidade máxima de IDs retornados.
+     * @return A lista de IDs de chamados, ordenada por relevância.
+     */
+    public List<Integer> buscar(String consulta, int limite) {
+        List<String> termos = tokenizar(consulta);
+        if (termos.isEmpty() || limite < 1) {
+            return Collections.emptyList();
+        }
+
+        double totalDocumentos = Math.max(documentos.size(), 1);
+        Map<Integer, Double> scores = new HashMap<>();
+        Map<Integer, Integer> termosEncontrados = new HashMap<>();
+        for (String termo : new HashSet<>(termos)) {
+            Map<Integer, Integer> docs = postings.get(termo);
+            if (docs == null) {
+                continue;
+            }
+            double idf = Math.log(1 + totalDocumentos / docs.size());
+            docs.forEach((id, freq) -> {
+                scores.merge(id, freq * idf, Double::sum);
+                termosEncontrados.merge(id, 1, Integer::sum);
+            });
+        }
+
+        // Chamados que contêm mais termos da busca sobem no ranking
+        int distintos = new HashSet<>(termos).size();
+        Comparator<Map.Entry<Integer, Double>> porScore = Comparator.comparingDouble(Map.Entry::getValue);
+        PriorityQueue<Map.Entry<Integer, Double>> top = new PriorityQueue<>(limite + 1, porScore);
+        for (Map.Entry<Integer, Double> e : scores.entrySet()) {
+            e.setValue(e.getValue() * termosEncontrados.get(e.getKey()) / distintos);
+            top.offer(e);
+            if (top.size() > limite) {
+                top.poll();
+            }
+        }
+
+        List<Integer> ids = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ids.add(top.poll().getKey());
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    /**
+     * Termos indexados de um chamado e a versão de onde vieram.
+     */
+    private static final class Documento {
+        private final int versao;
+        private final Map<String, Integer> termos;
+
+        private Documento(int versao, Map<String, Integer> termos) {
+            this.versao = versao;
+            this.termos = termos;
+        }
+    }
+
+    private void removerPosting(String termo, Integer id) {
+        postings.computeIfPresent(termo, (k, docs) -> {
+            docs.remove(id);
+            return docs.isEmpty() ? null : docs;
+        });
+    }
+
+    /**
+     * Normaliza o texto para o português (minúsculas, sem acentos) e o quebra em termos,
+     * descartando stopwords e termos de uma letra.
+     */
+    static List<String> tokenizar(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String normalizado = DIACRITICOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        List<String> termos = new ArrayList<>();
+        for (String t : SEPARADORES.split(normalizado.toLowerCase(Locale.ROOT))) {
+            if (t.length() > 1 && !STOPWORDS.contains(t)) {
+                termos.add(t);
+            }
+        }
+        return termos;
+    }
+}
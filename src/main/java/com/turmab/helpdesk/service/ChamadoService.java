@@ -1,20 +1,40 @@
 package com.turmab.helpdesk.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.turmab.helpdesk.domain.Chamado;
 import com.turmab.helpdesk.domain.Cliente;
 import com.turmab.helpdesk.domain.Tecnico;
 import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.dtos.ChamadoFiltroDTO;
+import com.turmab.helpdesk.domain.dtos.ChamadoPatchDTO;
 import com.turmab.helpdesk.domain.enums.Prioridade;
 import com.turmab.helpdesk.domain.enums.Status;
 import com.turmab.helpdesk.repositories.ChamadoRepository;
+import com.turmab.helpdesk.service.exceptions.ConflictException;
+import com.turmab.helpdesk.service.exceptions.DataIntegrityViolationException;
 import com.turmab.helpdesk.service.exceptions.ObjectNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Classe de serviço para gerenciar as operações de negócio relacionadas a Chamados.
@@ -27,12 +47,39 @@ import java.util.Optional;
 @Service
 public class ChamadoService {
 
+    /**
+     * Tamanho de página usado quando o cliente não informa o parâmetro limit.
+     */
+    public static final int LIMITE_PADRAO = 50;
+
+    /**
+     * Maior página aceita na listagem por cursor.
+     */
+    public static final int LIMITE_MAXIMO = 500;
+
+    /**
+     * Quantidade de linhas escritas entre cada flush da exportação NDJSON.
+     */
+    private static final int LINHAS_POR_FLUSH = 500;
+
     @Autowired
     private ChamadoRepository repository;
     @Autowired
     private TecnicoService tecnicoService;
     @Autowired
     private ClienteService clienteService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ChamadoSearchIndex searchIndex;
+    @Autowired
+    private FilaTecnicos filaTecnicos;
+    @Autowired
+    private ContadoresChamados contadores;
+    @Autowired
+    private CargaTecnicos cargaTecnicos;
+    @Autowired
+    private RevisaoColecoes revisao;
 
     /**
      * Busca um chamado pelo seu ID.
@@ -47,12 +94,172 @@ public class ChamadoService {
     }
 
     /**
-     * Retorna uma lista com todos os chamados cadastrados no sistema.
+     * Busca um chamado pelo seu ID, já projetado como DTO em uma única consulta.
      *
-     * @return Uma lista de objetos Chamado.
+     * @param id O ID do chamado a ser buscado.
+     * @return O DTO do chamado correspondente ao ID.
+     * @throws ObjectNotFoundException Lançada se nenhum chamado for encontrado com o ID fornecido.
+     */
+    public ChamadoDTO findDTOById(Integer id) {
+        Optional<ChamadoDTO> obj = repository.findDTOById(id);
+        return obj.orElseThrow(() -> new ObjectNotFoundException("Objeto não encontrado! ID: " + id));
+    }
+
+    /**
+     * Busca apenas a versão de um chamado, para responder a requisições condicionais sem montar o DTO.
+     *
+     * @param id O ID do chamado.
+     * @return A versão atual do chamado.
+     * @throws ObjectNotFoundException Lançada se nenhum chamado for encontrado com o ID fornecido.
      */
-    public List<Chamado> findAll() {
-        return repository.findAll();
+    public Integer findVersao(Integer id) {
+        Optional<Integer> versao = repository.findVersaoById(id);
+        return versao.orElseThrow(() -> new ObjectNotFoundException("Objeto não encontrado! ID: " + id));
+    }
+
+    /**
+     * Gera a ETag de um chamado a partir da sua versão.
+     *
+     * @param versao A versão do chamado.
+     * @return A ETag do chamado.
+     */
+    public String etag(Integer versao) {
+        return revisao.etagChamado(versao);
+    }
+
+    /**
+     * Retorna uma lista com todos os chamados cadastrados no sistema, já projetados como DTO.
+     *
+     * @return Uma lista de DTOs de chamados.
+     */
+    public List<ChamadoDTO> findAll() {
+        return repository.findAllDTO();
+    }
+
+    /**
+     * Retorna os chamados que atendem aos filtros informados, ordenados por data de abertura e ID.
+     * A filtragem é feita no banco, lendo apenas as linhas correspondentes.
+     *
+     * @param filtro Os critérios de filtragem.
+     * @return Uma lista de DTOs de chamados.
+     * @throws DataIntegrityViolationException Se algum código de status ou prioridade for inválido.
+     */
+    public List<ChamadoDTO> findAll(ChamadoFiltroDTO filtro) {
+        validaFiltro(filtro);
+        return repository.findAll(filtro);
+    }
+
+    /**
+     * Busca chamados por palavras-chave no título e nas observações, usando o índice em memória.
+     * A busca ignora acentos e maiúsculas e não consulta o banco de dados.
+     *
+     * @param q O texto da busca.
+     * @param limit A quantidade máxima de resultados (limitada a {@link #LIMITE_MAXIMO}).
+     * @return Os IDs dos chamados encontrados, do mais para o menos relevante.
+     */
+    public List<Integer> search(String q, Integer limit) {
+        return searchIndex.buscar(q, limiteEfetivo(limit));
+    }
+
+    /**
+     * Retorna a quantidade de chamados por status e prioridade, a partir dos contadores em memória.
+     *
+     * @return Um mapa status -> (prioridade -> quantidade).
+     */
+    public Map<String, Map<String, Long>> contagens() {
+        return contadores.contagens();
+    }
+
+    /**
+     * Escreve todos os chamados no formato NDJSON (um objeto JSON por linha).
+     * As linhas são lidas do banco por um cursor e escritas uma a uma, sem montar a lista
+     * em memória; como a consulta é uma projeção, nenhuma entidade fica presa no contexto
+     * de persistência e o uso de heap permanece constante.
+     *
+     * @param out O stream de saída (normalmente o corpo da resposta HTTP).
+     * @throws IOException Se ocorrer um erro ao escrever na saída.
+     */
+    @Transactional(readOnly = true)
+    public void exportar(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ChamadoDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (Stream<ChamadoDTO> stream = repository.streamAll();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null); // o separador entre linhas é escrito abaixo
+
+            int linhas = 0;
+            Iterator<ChamadoDTO> it = stream.iterator();
+            while (it.hasNext()) {
+                writer.writeValue(generator, it.next());
+                generator.writeRaw('\n');
+                if (++linhas % LINHAS_POR_FLUSH == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+
+    /**
+     * Retorna uma página da listagem por cursor (keyset), ordenada por data de abertura e ID.
+     * O custo de cada página independe da profundidade, pois a consulta parte da última
+     * posição entregue em vez de usar OFFSET.
+     *
+     * @param filtro Os critérios de filtragem (campos nulos são ignorados).
+     * @param after O cursor opaco devolvido pela página anterior, ou null para a primeira página.
+     * @param limit A quantidade de chamados desejada (limitada a {@link #LIMITE_MAXIMO}).
+     * @return Uma fatia de DTOs de chamados, indicando se há uma próxima página.
+     * @throws DataIntegrityViolationException Se o cursor ou algum código do filtro for inválido.
+     */
+    public Slice<ChamadoDTO> findPage(ChamadoFiltroDTO filtro, String after, Integer limit) {
+        validaFiltro(filtro);
+        if (after == null || after.isEmpty()) {
+            return repository.findPage(filtro, null, null, limiteEfetivo(limit));
+        }
+
+        String[] cursor = decodeCursor(after);
+        return repository.findPage(filtro, LocalDate.parse(cursor[0]), Integer.valueOf(cursor[1]),
+                limiteEfetivo(limit));
+    }
+
+    /**
+     * Gera o cursor opaco que aponta para a posição logo após o chamado informado.
+     *
+     * @param obj O último chamado entregue na página.
+     * @return O cursor a ser enviado de volta no parâmetro after.
+     */
+    public String encodeCursor(ChamadoDTO obj) {
+        String raw = obj.getDataAbertura() + ":" + obj.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = raw.split(":");
+            LocalDate.parse(partes[0]);
+            Integer.valueOf(partes[1]);
+            return partes;
+        } catch (RuntimeException e) {
+            throw new DataIntegrityViolationException("Cursor inválido: " + cursor, e);
+        }
+    }
+
+    private void validaFiltro(ChamadoFiltroDTO filtro) {
+        try {
+            Status.toEnum(filtro.getStatus());
+            Prioridade.toEnum(filtro.getPrioridade());
+        } catch (IllegalArgumentException e) {
+            throw new DataIntegrityViolationException(e.getMessage(), e);
+        }
+    }
+
+    private int limiteEfetivo(Integer limit) {
+        if (limit == null || limit < 1) {
+            return LIMITE_PADRAO;
+        }
+        return Math.min(limit, LIMITE_MAXIMO);
     }
 
     /**
@@ -62,21 +269,156 @@ public class ChamadoService {
      * @return O objeto Chamado que foi persistido no banco de dados.
      */
     public Chamado create(@Valid ChamadoDTO objDTO) {
-        return repository.save(newChamado(objDTO));
+        objDTO.setId(null);
+        Chamado obj = repository.save(newChamado(objDTO));
+        publicaAlteracao(null, null, new ChamadoDTO(obj));
+        return obj;
+    }
+
+    /**
+     * Cria vários chamados de uma só vez, em uma única transação com INSERTs em lote.
+     * Cada técnico e cliente distinto é buscado uma única vez para todo o lote.
+     *
+     * @param objDTOs Os DTOs dos novos chamados.
+     * @return Os chamados persistidos, na mesma ordem da entrada.
+     * @throws ObjectNotFoundException Se algum técnico ou cliente referenciado não existir.
+     */
+    public List<Chamado> createLote(List<ChamadoDTO> objDTOs) {
+        Map<Integer, Tecnico> tecnicos = tecnicoService.findAllById(
+                objDTOs.stream().map(ChamadoDTO::getTecnico).collect(Collectors.toSet()));
+        Map<Integer, Cliente> clientes = clienteService.findAllById(
+                objDTOs.stream().map(ChamadoDTO::getCliente).collect(Collectors.toSet()));
+
+        List<Chamado> chamados = new ArrayList<>(objDTOs.size());
+        for (ChamadoDTO objDTO : objDTOs) {
+            objDTO.setId(null);
+            chamados.add(newChamado(objDTO, tecnicos.get(objDTO.getTecnico()), clientes.get(objDTO.getCliente())));
+        }
+
+        repository.insertAll(chamados);
+        chamados.forEach(obj -> publicaAlteracao(null, null, new ChamadoDTO(obj)));
+        return chamados;
     }
 
     /**
      * Atualiza as informações de um chamado existente.
+     * Os dados são copiados sobre a entidade carregada, preservando a data de abertura e a versão;
+     * se o DTO trouxer a versão lida pelo cliente, ela precisa ser a versão atual do chamado.
      *
      * @param id O ID do chamado a ser atualizado.
      * @param objDTO O DTO com os novos dados para o chamado.
      * @return O objeto Chamado atualizado.
+     * @throws ConflictException Se o chamado foi alterado por outro usuário depois de lido.
      */
     public Chamado update(Integer id, @Valid ChamadoDTO objDTO) {
-        objDTO.setId(id);
         Chamado oldObj = findById(id);
-        oldObj = newChamado(objDTO);
-        return repository.save(oldObj);
+        if (objDTO.getVersao() != null && !objDTO.getVersao().equals(oldObj.getVersao())) {
+            throw new ConflictException("O chamado " + id + " foi alterado por outro usuário. Recarregue e tente novamente.");
+        }
+        Status statusAnterior = oldObj.getStatus();
+        Prioridade prioridadeAnterior = oldObj.getPrioridade();
+
+        Status status = Status.toEnum(objDTO.getStatus());
+        oldObj.setDataFechamento(dataFechamento(statusAnterior, oldObj.getDataFechamento(), status));
+        oldObj.setTecnico(tecnicoService.findById(objDTO.getTecnico()));
+        oldObj.setCliente(clienteService.findById(objDTO.getCliente()));
+        oldObj.setPrioridade(Prioridade.toEnum(objDTO.getPrioridade()));
+        oldObj.setStatus(status);
+        oldObj.setTitulo(objDTO.getTitulo());
+        oldObj.setObservacoes(objDTO.getObservacoes());
+
+        Chamado obj = repository.saveAndFlush(oldObj);
+        publicaAlteracao(statusAnterior, prioridadeAnterior, new ChamadoDTO(obj));
+        return obj;
+    }
+
+    /**
+     * Altera apenas os campos informados de um chamado (ex.: a transição de status ou prioridade).
+     * A gravação é um único UPDATE condicionado à versão lida pelo cliente, sem carregar a entidade
+     * nem o técnico e o cliente associados.
+     *
+     * @param id O ID do chamado a ser alterado.
+     * @param patchDTO Os campos a alterar e a versão sobre a qual a alteração foi feita.
+     * @return O DTO do chamado com os novos valores e a nova versão.
+     * @throws ObjectNotFoundException Se o chamado não existir.
+     * @throws DataIntegrityViolationException Se algum código de status ou prioridade for inválido.
+     * @throws ConflictException Se o chamado foi alterado por outro usuário depois de lido.
+     */
+    public ChamadoDTO patch(Integer id, @Valid ChamadoPatchDTO patchDTO) {
+        Status status;
+        Prioridade prioridade;
+        try {
+            status = Status.toEnum(patchDTO.getStatus());
+            prioridade = Prioridade.toEnum(patchDTO.getPrioridade());
+        } catch (IllegalArgumentException e) {
+            throw new DataIntegrityViolationException(e.getMessage(), e);
+        }
+
+        ChamadoDTO obj = findDTOById(id);
+        if (!obj.getVersao().equals(patchDTO.getVersao())) {
+            throw new ConflictException("O chamado " + id + " foi alterado por outro usuário. Recarregue e tente novamente.");
+        }
+        Status statusAnterior = Status.toEnum(obj.getStatus());
+        Prioridade prioridadeAnterior = Prioridade.toEnum(obj.getPrioridade());
+
+        Map<String, Object> campos = new LinkedHashMap<>();
+        if (prioridade != null) {
+            campos.put("prioridade", prioridade);
+            obj.setPrioridade(prioridade.getCodigo());
+        }
+        if (status != null) {
+            LocalDate dataFechamento = dataFechamento(statusAnterior, obj.getDataFechamento(), status);
+            campos.put("status", status);
+            campos.put("dataFechamento", dataFechamento);
+            obj.setStatus(status.getCodigo());
+            obj.setDataFechamento(dataFechamento);
+        }
+        if (patchDTO.getTitulo() != null) {
+            campos.put("titulo", patchDTO.getTitulo());
+            obj.setTitulo(patchDTO.getTitulo());
+        }
+        if (patchDTO.getObservacoes() != null) {
+            campos.put("observacoes", patchDTO.getObservacoes());
+            obj.setObservacoes(patchDTO.getObservacoes());
+        }
+        if (campos.isEmpty()) {
+            return obj;
+        }
+
+        if (repository.updateCampos(id, patchDTO.getVersao(), campos) == 0) {
+            throw new ConflictException("O chamado " + id + " foi alterado por outro usuário. Recarregue e tente novamente.");
+        }
+        obj.setVersao(obj.getVersao() + 1);
+        publicaAlteracao(statusAnterior, prioridadeAnterior, obj);
+        return obj;
+    }
+
+    /**
+     * Calcula a data de fechamento após uma mudança de status: é preenchida quando o chamado
+     * é encerrado, mantida se ele já estava encerrado e limpa quando é reaberto.
+     */
+    private LocalDate dataFechamento(Status statusAnterior, LocalDate dataFechamentoAnterior, Status status) {
+        if (status != Status.ENCERRADO) {
+            return null;
+        }
+        return statusAnterior == Status.ENCERRADO && dataFechamentoAnterior != null
+                ? dataFechamentoAnterior : LocalDate.now();
+    }
+
+    /**
+     * Propaga um chamado recém-gravado para as estruturas mantidas em memória
+     * (índice de busca, filas de trabalho dos técnicos, contadores do painel e carga dos técnicos).
+     *
+     * @param statusAnterior O status antes da alteração, ou null em uma criação.
+     * @param prioridadeAnterior A prioridade antes da alteração, ou null em uma criação.
+     * @param obj O chamado persistido.
+     */
+    private void publicaAlteracao(Status statusAnterior, Prioridade prioridadeAnterior, ChamadoDTO obj) {
+        searchIndex.indexar(obj.getId(), obj.getVersao(), obj.getTitulo(), obj.getObservacoes());
+        filaTecnicos.atualizar(obj);
+        contadores.transicao(statusAnterior, prioridadeAnterior,
+                Status.toEnum(obj.getStatus()), Prioridade.toEnum(obj.getPrioridade()));
+        cargaTecnicos.invalidar();
     }
 
     /**
@@ -89,7 +431,18 @@ public class ChamadoService {
     private Chamado newChamado(ChamadoDTO objDTO) {
         Tecnico tecnico = tecnicoService.findById(objDTO.getTecnico());
         Cliente cliente = clienteService.findById(objDTO.getCliente());
+        return newChamado(objDTO, tecnico, cliente);
+    }
 
+    /**
+     * Converte um ChamadoDTO em uma entidade Chamado, usando o técnico e o cliente já carregados.
+     *
+     * @param objDTO O DTO de origem.
+     * @param tecnico O técnico responsável.
+     * @param cliente O cliente que abriu o chamado.
+     * @return Uma instância de Chamado preenchida.
+     */
+    private Chamado newChamado(ChamadoDTO objDTO, Tecnico tecnico, Cliente cliente) {
         Chamado chamado = new Chamado();
         if (objDTO.getId() != null) {
             chamado.setId(objDTO.getId());
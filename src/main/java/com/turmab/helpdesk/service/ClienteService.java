@@ -1,19 +1,29 @@
 package com.turmab.helpdesk.service;
 
 import com.turmab.helpdesk.domain.Cliente;
-import com.turmab.helpdesk.domain.Pessoa;
 import com.turmab.helpdesk.domain.dtos.ClienteDTO;
+import com.turmab.helpdesk.domain.dtos.ImportacaoDTO;
+import com.turmab.helpdesk.repositories.ChamadoRepository;
 import com.turmab.helpdesk.repositories.ClienteRepository;
-import com.turmab.helpdesk.repositories.PessoaRepository;
+import com.turmab.helpdesk.security.CacheUsuarios;
+import com.turmab.helpdesk.security.HashSenhas;
+import com.turmab.helpdesk.security.VersoesCredenciais;
 import com.turmab.helpdesk.service.exceptions.DataIntegrityViolationException;
 import com.turmab.helpdesk.service.exceptions.ObjectNotFoundException;
+import com.turmab.helpdesk.service.exceptions.TooManyRequestsException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Classe de serviço para gerenciar as operações de negócio relacionadas a Clientes.
@@ -29,9 +39,19 @@ public class ClienteService {
     @Autowired
     private ClienteRepository repository;
     @Autowired
-    private PessoaRepository pessoaRepository;
+    private ChamadoRepository chamadoRepository;
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private IndiceCpfEmail indiceCpfEmail;
+    @Autowired
+    private ImportacaoPessoas importacao;
+    @Autowired
+    private HashSenhas passwordEncoder;
+    @Autowired
+    private RevisaoColecoes revisao;
+    @Autowired
+    private CacheUsuarios cacheUsuarios;
+    @Autowired
+    private VersoesCredenciais versoesCredenciais;
 
     /**
      * Busca um cliente pelo seu ID.
@@ -46,28 +66,87 @@ public class ClienteService {
     }
 
     /**
-     * Retorna uma lista com todas as entidades de Clientes cadastradas.
-     * A conversão para DTO é feita na camada de Resource (Controller).
+     * Busca de uma só vez os clientes com os IDs informados, indexados pelo ID.
      *
-     * @return Uma lista de entidades Cliente.
+     * @param ids Os IDs a buscar.
+     * @return Um mapa ID -> Cliente.
+     * @throws ObjectNotFoundException Se algum dos IDs não existir.
      */
-    public List<Cliente> findAll() {
-        return repository.findAll();
+    public Map<Integer, Cliente> findAllById(Collection<Integer> ids) {
+        Map<Integer, Cliente> result = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+        for (Integer id : ids) {
+            if (!result.containsKey(id)) {
+                throw new ObjectNotFoundException("Cliente não encontrado! ID: " + id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retorna todos os clientes cadastrados, ordenados pelo ID, já como DTOs.
+     * Uma única consulta traz apenas as colunas da listagem (sem a senha), incluindo a máscara de perfis.
+     *
+     * @return Uma lista de DTOs de clientes.
+     */
+    public List<ClienteDTO> findAll() {
+        return repository.findAllDTO();
+    }
+
+    /**
+     * Retorna uma página dos clientes cadastrados, com a mesma projeção de {@link #findAll()}
+     * e uma consulta de contagem separada para o total.
+     *
+     * @param page O número da página, a partir de 0 (opcional).
+     * @param size O tamanho da página (opcional).
+     * @param sort A ordenação no formato <code>campo[,asc|desc]</code>, por id, nome, cpf, email ou dataCriacao (opcional).
+     * @return A página de DTOs de clientes.
+     * @throws DataIntegrityViolationException Se a página ou a ordenação forem inválidas.
+     */
+    public Page<ClienteDTO> findPage(Integer page, Integer size, String sort) {
+        return repository.findPageDTO(PaginacaoPessoas.pagina(page, size, sort));
+    }
+
+    /**
+     * Retorna a ETag atual da listagem de clientes, que muda a cada criação, atualização ou exclusão.
+     *
+     * @return A ETag da listagem.
+     */
+    public String etag() {
+        return revisao.etagClientes();
     }
 
     /**
      * Cria um novo cliente no sistema a partir de um DTO.
-     * A senha é criptografada antes de ser salva.
+     * A senha é criptografada antes de ser salva, após as validações de CPF e e-mail.
      *
      * @param objDTO O DTO contendo os dados do novo cliente.
      * @return A entidade Cliente que foi persistida no banco de dados.
+     * @throws TooManyRequestsException Se a fila de hashes de senha estiver cheia.
      */
     public Cliente create(ClienteDTO objDTO) {
         objDTO.setId(null); // Garante que estamos criando uma nova instância
+        validaPorCpfEEmail(objDTO); // Valida antes do hash, que é a parte cara
         objDTO.setSenha(passwordEncoder.encode(objDTO.getSenha())); // Criptografa a senha
-        validaPorCpfEEmail(objDTO);
-        Cliente newObj = new Cliente(objDTO);
-        return repository.save(newObj);
+        Cliente newObj = repository.save(new Cliente(objDTO));
+        revisao.clientesAlterados();
+        versoesCredenciais.atualizar(newObj.getId(), newObj.getVersaoCredenciais());
+        indiceCpfEmail.registrar(newObj.getId(), newObj.getCpf(), newObj.getEmail());
+        return newObj;
+    }
+
+    /**
+     * Importa clientes de um arquivo CSV, em lotes, sem carregar o arquivo inteiro em memória.
+     * As linhas recusadas (campos ausentes, CPF ou e-mail repetidos ou já cadastrados) são
+     * informadas no relatório, e as demais são gravadas.
+     *
+     * @param csv O conteúdo do arquivo CSV (cabeçalho nome, cpf, email, senha), em UTF-8.
+     * @return O relatório da importação.
+     * @throws IOException Se a leitura do arquivo falhar.
+     * @throws TooManyRequestsException Se a fila de hashes de senha estiver cheia.
+     */
+    public ImportacaoDTO importar(InputStream csv) throws IOException {
+        return importacao.importar(csv, Cliente::new, revisao::clientesAlterados);
     }
 
     /**
@@ -76,13 +155,25 @@ public class ClienteService {
      * @param id O ID do cliente a ser atualizado.
      * @param objDTO O DTO com os novos dados para o cliente.
      * @return A entidade Cliente atualizada.
+     * @throws TooManyRequestsException Se a fila de hashes de senha estiver cheia.
      */
     public Cliente update(Integer id, @Valid ClienteDTO objDTO) {
         objDTO.setId(id);
         Cliente oldObj = findById(id);
         validaPorCpfEEmail(objDTO);
-        oldObj = new Cliente(objDTO);
-        return repository.save(oldObj);
+        if (!objDTO.getSenha().equals(oldObj.getSenha())) {
+            objDTO.setSenha(passwordEncoder.encode(objDTO.getSenha())); // Só recalcula o hash se a senha mudou
+        }
+        String cpfAnterior = oldObj.getCpf();
+        String emailAnterior = oldObj.getEmail();
+        Cliente newObj = new Cliente(objDTO);
+        newObj.setVersaoCredenciais(oldObj.getVersaoCredenciais() + 1); // Invalida os tokens já emitidos
+        oldObj = repository.save(newObj);
+        revisao.clientesAlterados();
+        cacheUsuarios.invalidar(emailAnterior, oldObj.getEmail());
+        versoesCredenciais.atualizar(id, oldObj.getVersaoCredenciais());
+        indiceCpfEmail.substituir(id, cpfAnterior, emailAnterior, oldObj.getCpf(), oldObj.getEmail());
+        return oldObj;
     }
 
     /**
@@ -94,28 +185,24 @@ public class ClienteService {
      */
     public void delete(Integer id) {
         Cliente obj = findById(id);
-        if (obj.getChamados().size() > 0) {
+        if (chamadoRepository.existsByClienteId(id)) {
             throw new DataIntegrityViolationException("Cliente possui ordens de serviço e não pode ser deletado!");
         }
         repository.deleteById(id);
+        revisao.clientesAlterados();
+        cacheUsuarios.invalidar(obj.getEmail());
+        versoesCredenciais.remover(id);
+        indiceCpfEmail.remover(id, obj.getCpf(), obj.getEmail());
     }
 
     /**
-     * Valida se o CPF ou E-mail fornecido já existem na base de dados,
+     * Valida se o CPF ou E-mail fornecido já existem, pelo {@link IndiceCpfEmail},
      * ignorando o próprio ID do usuário em caso de atualização.
      *
      * @param objDTO O DTO do cliente contendo CPF e E-mail.
      * @throws DataIntegrityViolationException Se o CPF ou E-mail já estiverem em uso por outro usuário.
      */
     private void validaPorCpfEEmail(ClienteDTO objDTO) {
-        Optional<Pessoa> obj = pessoaRepository.findByCpf(objDTO.getCpf());
-        if (obj.isPresent() && obj.get().getId() != objDTO.getId()) {
-            throw new DataIntegrityViolationException("CPF já cadastrado no sistema!");
-        }
-
-        obj = pessoaRepository.findByEmail(objDTO.getEmail());
-        if (obj.isPresent() && obj.get().getId() != objDTO.getId()) {
-            throw new DataIntegrityViolationException("E-mail já cadastrado no sistema!");
-        }
+        indiceCpfEmail.validar(objDTO.getId(), objDTO.getCpf(), objDTO.getEmail());
     }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.turmab.helpdesk.service;
+
+import com.turmab.helpdesk.domain.enums.Prioridade;
+import com.turmab.helpdesk.domain.enums.Status;
+import com.turmab.helpdesk.repositories.ChamadoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores em memória da quantidade de chamados por Status e Prioridade.
+ * <p>
+ * Cada célula é um {@link LongAdder}, que distribui as escritas concorrentes entre células internas
+ * e evita contenção. Os contadores são ajustados pelo {@link ChamadoService} a cada transição de
+ * status ou prioridade e reconciliados periodicamente com uma consulta agregada no banco.
+ * A leitura é de tempo constante e não acessa o banco de dados.
+ * </p>
+ */
+@Component
+public class ContadoresChamados {
+
+    private final LongAdder[][] contadores = new LongAdder[Status.values().length][Prioridade.values().length];
+
+    @Autowired
+    private ChamadoRepository repository;
+
+    public ContadoresChamados() {
+        for (int s = 0; s < contadores.length; s++) {
+            for (int p = 0; p < contadores[s].length; p++) {
+                contadores[s][p] = new LongAdder();
+            }
+        }
+    }
+
+    /**
+     * Registra a transição de um chamado. Em uma criação, o estado anterior é nulo.
+     *
+     * @param statusAnterior O status antes da alteração (ou null).
+     * @param prioridadeAnterior A prioridade antes da alteração (ou null).
+     * @param status O novo status.
+     * @param prioridade A nova prioridade.
+     */
+    public void transicao(Status statusAnterior, Prioridade prioridadeAnterior, Status status, Prioridade prioridade) {
+        if (statusAnterior == status && prioridadeAnterior == prioridade) {
+            return;
+        }
+        if (statusAnterior != null && prioridadeAnterior != null) {
+            contador(statusAnterior, prioridadeAnterior).decrement();
+        }
+        contador(status, prioridade).increment();
+    }
+
+    /**
+     * Retorna as contagens atuais, agrupadas por status e, dentro de cada status, por prioridade.
+     *
+     * @return Um mapa status -> (prioridade -> quantidade).
+     */
+    public Map<String, Map<String, Long>> contagens() {
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+        for (Status s : Status.values()) {
+            Map<String, Long> porPrioridade = new LinkedHashMap<>();
+            for (Prioridade p : Prioridade.values()) {
+                porPrioridade.put(p.getDescricao(), contador(s, p).sum());
+            }
+            result.put(s.getDescricao(), porPrioridade);
+        }
+        return result;
+    }
+
+    /**
+     * Corrige eventuais divergências aplicando a cada contador a diferença para o valor real no banco.
+     * Executada na inicialização e depois periodicamente.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${chamados.contagens.reconciliacao-ms:60000}",
+            initialDelayString = "${chamados.contagens.reconciliacao-ms:60000}")
+    public void reconciliar() {
+        long[][] reais = new long[contadores.length][contadores[0].length];
+        for (Object[] row : repository.countByStatusAndPrioridade()) {
+            reais[((Status) row[0]).ordinal()][((Prioridade) row[1]).ordinal()] = (Long) row[2];
+        }
+        for (int s = 0; s < contadores.length; s++) {
+            for (int p = 0; p < contadores[s].length; p++) {
+                contadores[s][p].add(reais[s][p] - contadores[s][p].sum());
+            }
+        }
+    }
+
+    private LongAdder contador(Status status, Prioridade prioridade) {
+        return contadores[status.ordinal()][prioridade.ordinal()];
+    }
+}
@@ -0,0 +1,135 @@
+package com.turmab.helpdesk.service;
+
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.enums.Prioridade;
+import com.turmab.helpdesk.domain.enums.Status;
+import com.turmab.helpdesk.repositories.ChamadoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Filas de trabalho em memória, uma por técnico, com os chamados ainda não encerrados
+ * (ABERTO ou ANDAMENTO) ordenados por prioridade (ALTA primeiro) e data de abertura.
+ * <p>
+ * As filas são carregadas na inicialização e mantidas em sincronia pelo {@link ChamadoService}
+ * a cada criação ou atualização, de modo que a leitura não acessa o banco de dados.
+ * </p>
+ */
+@Component
+public class FilaTecnicos {
+
+    private static final Comparator<ChamadoDTO> ORDEM_FILA = Comparator
+            .comparing(ChamadoDTO::getPrioridade, Comparator.reverseOrder())
+            .thenComparing(ChamadoDTO::getDataAbertura)
+            .thenComparing(ChamadoDTO::getId);
+
+    /**
+     * ID do técnico -> chamados em aberto, já ordenados.
+     */
+    private final Map<Integer, NavigableSet<ChamadoDTO>> filas = new ConcurrentHashMap<>();
+
+    /**
+     * ID do chamado -> última versão recebida, usada para localizá-la na fila ao atualizar e para
+     * descartar versões que cheguem fora de ordem. Chamados encerrados ficam apenas como um marcador
+     * com a versão, fora de qualquer fila.
+     */
+    private final Map<Integer, ChamadoDTO> enfileirados = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ChamadoRepository repository;
+
+    /**
+     * Carrega as filas com os chamados em aberto quando a aplicação termina de subir.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        filas.clear();
+        enfileirados.clear();
+        repository.findAllDTOByStatusIn(Arrays.asList(Status.ABERTO, Status.ANDAMENTO)).forEach(this::atualizar);
+    }
+
+    /**
+     * Atualiza a posição de um chamado: remove a versão anterior (inclusive da fila de outro
+     * técnico, em caso de reatribuição) e o enfileira novamente se ainda estiver em aberto.
+     * Se já houver uma versão mais nova do chamado, a chamada é ignorada.
+     * O DTO informado não deve ser alterado depois de enfileirado.
+     *
+     * @param obj O estado atual do chamado.
+     */
+    public void atualizar(ChamadoDTO obj) {
+        // O compute serializa as atualizações do mesmo chamado
+        enfileirados.compute(obj.getId(), (id, anterior) -> {
+            if (anterior != null) {
+                if (anterior.getVersao() > obj.getVersao()) {
+                    return anterior;
+                }
+                NavigableSet<ChamadoDTO> fila = emAberto(anterior) ? filas.get(anterior.getTecnico()) : null;
+                if (fila != null) {
+                    fila.remove(anterior);
+                }
+            }
+            if (emAberto(obj)) {
+                filas.computeIfAbsent(obj.getTecnico(), k -> new ConcurrentSkipListSet<>(ORDEM_FILA)).add(obj);
+                return obj;
+            }
+            return encerrado(obj);
+        });
+    }
+
+    /**
+     * Move a fila de um técnico para outro, refletindo uma transferência em massa feita direto no
+     * banco: cada chamado é reenfileirado com o novo técnico e a versão incrementada.
+     *
+     * @param origem O ID do técnico que perdeu os chamados.
+     * @param destino O ID do técnico que recebeu os chamados.
+     * @param nomeDestino O nome do técnico que recebeu os chamados.
+     */
+    public void reatribuir(Integer origem, Integer destino, String nomeDestino) {
+        for (ChamadoDTO anterior : listar(origem)) {
+            ChamadoDTO obj = new ChamadoDTO(anterior.getId(), anterior.getDataAbertura(), anterior.getDataFechamento(),
+                    Prioridade.toEnum(anterior.getPrioridade()), Status.toEnum(anterior.getStatus()),
+                    anterior.getTitulo(), anterior.getObservacoes(), destino, nomeDestino,
+                    anterior.getCliente(), anterior.getNomeCliente(), anterior.getVersao() + 1);
+            atualizar(obj);
+        }
+        filas.remove(origem);
+    }
+
+    /**
+     * Retorna a fila de trabalho de um técnico.
+     *
+     * @param tecnico O ID do técnico.
+     * @return Os chamados em aberto do técnico, em ordem de atendimento.
+     */
+    public List<ChamadoDTO> listar(Integer tecnico) {
+        NavigableSet<ChamadoDTO> fila = filas.get(tecnico);
+        return fila == null ? Collections.emptyList() : new ArrayList<>(fila);
+    }
+
+    /**
+     * Marcador de um chamado encerrado: apenas o ID, o status e a versão.
+     */
+    private ChamadoDTO encerrado(ChamadoDTO obj) {
+        ChamadoDTO marcador = new ChamadoDTO();
+        marcador.setId(obj.getId());
+        marcador.setStatus(obj.getStatus());
+        marcador.setVersao(obj.getVersao());
+        return marcador;
+    }
+
+    private boolean emAberto(ChamadoDTO obj) {
+        return !Status.ENCERRADO.getCodigo().equals(obj.getStatus());
+    }
+}
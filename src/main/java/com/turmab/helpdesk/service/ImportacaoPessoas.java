@@ -0,0 +1,292 @@
+package com.turmab.helpdesk.service;
+
+import com.turmab.helpdesk.domain.Pessoa;
+import com.turmab.helpdesk.domain.dtos.ImportacaoDTO;
+import com.turmab.helpdesk.repositories.PessoaRepository;
+import com.turmab.helpdesk.security.HashSenhas;
+import com.turmab.helpdesk.security.VersoesCredenciais;
+import com.turmab.helpdesk.service.exceptions.DataIntegrityViolationException;
+import com.turmab.helpdesk.service.exceptions.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em massa de técnicos e clientes a partir de um CSV.
+ * <p>
+ * O arquivo é lido em streaming, em lotes de <code>importacao.lote</code> linhas; só o lote atual
+ * fica em memória, qualquer que seja o tamanho do arquivo. Para cada lote:
+ * </p>
+ * <ol>
+ * <li>as linhas sem algum campo obrigatório, repetidas no próprio lote ou com CPF/e-mail já
+ * cadastrado (segundo o {@link IndiceCpfEmail} e uma única consulta ao banco) são recusadas;</li>
+ * <li>as senhas das linhas válidas são criptografadas em paralelo ({@link HashSenhas#encodeTodos});</li>
+ * <li>as pessoas são inseridas em uma transação, com INSERTs em lotes JDBC, e registradas no
+ * índice de CPF/e-mail e nas versões de credenciais.</li>
+ * </ol>
+ * <p>
+ * Cada lote é confirmado separadamente: um lote que falhe na gravação tem todas as suas linhas
+ * recusadas, sem desfazer os anteriores. O resultado é um {@link ImportacaoDTO} com o motivo de
+ * cada linha recusada.
+ * </p>
+ * <p>
+ * O CSV deve ter um cabeçalho com as colunas <code>nome</code>, <code>cpf</code>,
+ * <code>email</code> e <code>senha</code>, em qualquer ordem, separadas por vírgula ou
+ * ponto e vírgula. Valores podem vir entre aspas duplas.
+ * </p>
+ */
+@Component
+public class ImportacaoPessoas {
+
+    private static final String[] COLUNAS = {"nome", "cpf", "email", "senha"};
+
+    /**
+     * Cria a entidade (Tecnico ou Cliente) de uma linha importada; normalmente o construtor
+     * (id, nome, cpf, email, senha) da entidade.
+     */
+    @FunctionalInterface
+    public interface Fabrica<T extends Pessoa> {
+        T criar(Integer id, String nome, String cpf, String email, String senha);
+    }
+
+    @Value("${importacao.lote:500}")
+    private int tamanhoLote;
+
+    @Value("${importacao.max-erros:1000}")
+    private int maxErros;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+    @Autowired
+    private HashSenhas passwordEncoder;
+    @Autowired
+    private IndiceCpfEmail indiceCpfEmail;
+    @Autowired
+    private VersoesCredenciais versoesCredenciais;
+
+    /**
+     * Importa as pessoas de um CSV.
+     *
+     * @param csv O conteúdo do arquivo, em UTF-8.
+     * @param fabrica Cria a entidade de cada linha.
+     * @param alterados Executado após cada lote gravado (ex.: atualizar a ETag da coleção).
+     * @return O relatório da importação.
+     * @throws IOException Se a leitura do arquivo falhar.
+     * @throws DataIntegrityViolationException Se o cabeçalho não tiver as colunas obrigatórias.
+     * @throws TooManyRequestsException Se a fila de hashes de senha estiver cheia.
+     */
+    public <T extends Pessoa> ImportacaoDTO importar(InputStream csv, Fabrica<T> fabrica, Runnable alterados)
+            throws IOException {
+        ImportacaoDTO relatorio = new ImportacaoDTO();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String cabecalho = reader.readLine();
+            if (cabecalho == null) {
+                throw new DataIntegrityViolationException("Arquivo CSV vazio!");
+            }
+            cabecalho = cabecalho.replace("\uFEFF", ""); // BOM gravado por algumas planilhas
+            char separador = cabecalho.indexOf(';') >= 0 && cabecalho.indexOf(',') < 0 ? ';' : ',';
+            List<String> colunas = dividir(cabecalho, separador);
+            int[] posicoes = posicoes(colunas);
+
+            List<Linha> lote = new ArrayList<>(tamanhoLote);
+            int numero = 1;
+            String texto;
+            while ((texto = reader.readLine()) != null) {
+                numero++;
+                if (texto.trim().isEmpty()) {
+                    continue;
+                }
+                relatorio.setLinhas(relatorio.getLinhas() + 1);
+                List<String> campos = dividir(texto, separador);
+                // Compara com o cabeçalho, que pode ter colunas além das obrigatórias
+                if (campos.size() != colunas.size()) {
+                    erro(relatorio, numero, "Quantidade de colunas inválida: esperadas " + colunas.size()
+                            + ", encontradas " + campos.size());
+                    continue;
+                }
+                lote.add(new Linha(numero, campos.get(posicoes[0]), campos.get(posicoes[1]),
+                        campos.get(posicoes[2]), campos.get(posicoes[3])));
+                if (lote.size() == tamanhoLote) {
+                    gravarLote(lote, fabrica, alterados, relatorio);
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                gravarLote(lote, fabrica, alterados, relatorio);
+            }
+        }
+        relatorio.getErros().sort(Comparator.comparingInt(ImportacaoDTO.Erro::getLinha));
+        return relatorio;
+    }
+
+    private <T extends Pessoa> void gravarLote(List<Linha> lote, Fabrica<T> fabrica, Runnable alterados,
+            ImportacaoDTO relatorio) {
+        // Campos obrigatórios e conflitos já conhecidos pelo índice, sem acessar o banco
+        List<Linha> candidatas = new ArrayList<>(lote.size());
+        for (Linha linha : lote) {
+            String mensagem = linha.campoAusente();
+            if (mensagem == null) {
+                mensagem = indiceCpfEmail.conflito(null, linha.cpf, linha.email);
+            }
+            if (mensagem != null) {
+                erro(relatorio, linha.numero, mensagem);
+            } else {
+                candidatas.add(linha);
+            }
+        }
+
+        // Uma consulta para o lote inteiro, depois repetidos dentro do próprio lote
+        indiceCpfEmail.consultar(candidatas.stream().map(l -> l.cpf).collect(Collectors.toSet()),
+                candidatas.stream().map(l -> l.email).collect(Collectors.toSet()));
+        Set<String> cpfs = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        List<Linha> validas = new ArrayList<>(candidatas.size());
+        for (Linha linha : candidatas) {
+            String mensagem = indiceCpfEmail.conflito(null, linha.cpf, linha.email);
+            if (mensagem == null && cpfs.contains(linha.cpf)) {
+                mensagem = "CPF repetido no arquivo!";
+            } else if (mensagem == null && emails.contains(linha.email)) {
+                mensagem = "E-mail repetido no arquivo!";
+            }
+            if (mensagem != null) {
+                erro(relatorio, linha.numero, mensagem);
+            } else {
+                // Só uma linha aceita reserva o CPF e o e-mail
+                cpfs.add(linha.cpf);
+                emails.add(linha.email);
+                validas.add(linha);
+            }
+        }
+        if (validas.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes = passwordEncoder.encodeTodos(validas.stream().map(l -> l.senha).collect(Collectors.toList()));
+        List<T> pessoas = new ArrayList<>(validas.size());
+        for (int i = 0; i < validas.size(); i++) {
+            Linha linha = validas.get(i);
+            pessoas.add(fabrica.criar(null, linha.nome, linha.cpf, linha.email, hashes.get(i)));
+        }
+
+        try {
+            pessoaRepository.insertAll(pessoas);
+        } catch (DataAccessException e) {
+            // Ex.: CPF ou e-mail gravado por outra requisição entre a consulta e o INSERT
+            validas.forEach(l -> erro(relatorio, l.numero, "Falha ao gravar o lote: " + e.getMostSpecificCause().getMessage()));
+            return;
+        }
+        for (T pessoa : pessoas) {
+            indiceCpfEmail.registrar(pessoa.getId(), pessoa.getCpf(), pessoa.getEmail());
+            versoesCredenciais.atualizar(pessoa.getId(), pessoa.getVersaoCredenciais());
+        }
+        relatorio.setImportados(relatorio.getImportados() + pessoas.size());
+        alterados.run();
+    }
+
+    private void erro(ImportacaoDTO relatorio, int linha, String mensagem) {
+        relatorio.setTotalErros(relatorio.getTotalErros() + 1);
+        if (relatorio.getErros().size() < maxErros) {
+            relatorio.getErros().add(new ImportacaoDTO.Erro(linha, mensagem));
+        }
+    }
+
+    /**
+     * Posição de cada coluna obrigatória (na ordem de COLUNAS) no cabeçalho.
+     */
+    private static int[] posicoes(List<String> cabecalho) {
+        int[] posicoes = new int[COLUNAS.length];
+        for (int i = 0; i < COLUNAS.length; i++) {
+            posicoes[i] = -1;
+            for (int j = 0; j < cabecalho.size(); j++) {
+                if (COLUNAS[i].equals(cabecalho.get(j).toLowerCase(Locale.ROOT))) {
+                    posicoes[i] = j;
+                }
+            }
+            if (posicoes[i] < 0) {
+                throw new DataIntegrityViolationException("O cabeçalho do CSV deve conter as colunas nome, cpf, email e senha!");
+            }
+        }
+        return posicoes;
+    }
+
+    /**
+     * Divide uma linha do CSV nos seus campos, aceitando valores entre aspas duplas
+     * (com "" representando uma aspa). Os valores são devolvidos sem espaços nas pontas.
+     */
+    static List<String> dividir(String linha, char separador) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean aspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (aspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    aspas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                aspas = true;
+            } else if (c == separador) {
+                campos.add(campo.toString().trim());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString().trim());
+        return campos;
+    }
+
+    private static final class Linha {
+        final int numero;
+        final String nome;
+        final String cpf;
+        final String email;
+        final String senha;
+
+        Linha(int numero, String nome, String cpf, String email, String senha) {
+            this.numero = numero;
+            this.nome = nome;
+            this.cpf = cpf;
+            this.email = email;
+            this.senha = senha;
+        }
+
+        /**
+         * @return A mensagem do primeiro campo obrigatório vazio, ou {@code null}.
+         */
+        String campoAusente() {
+            if (nome.isEmpty()) {
+                return "O campo NOME é requerido";
+            }
+            if (cpf.isEmpty()) {
+                return "O campo CPF é requerido";
+            }
+            if (email.isEmpty()) {
+                return "O campo EMAIL é requerido";
+            }
+            if (senha.isEmpty()) {
+                return "O campo SENHA é requerido";
+            }
+            return null;
+        }
+    }
+}
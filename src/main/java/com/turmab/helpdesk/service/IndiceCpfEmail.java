@@ -0,0 +1,141 @@
+package com.turmab.helpdesk.service;
+
+import com.turmab.helpdesk.repositories.PessoaRepository;
+import com.turmab.helpdesk.service.exceptions.DataIntegrityViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice em memória CPF -> ID e e-mail -> ID de todas as pessoas (técnicos e clientes),
+ * usado para validar a unicidade desses campos nas gravações.
+ * <p>
+ * Um CPF ou e-mail encontrado no índice com outro ID é recusado sem acessar o banco. Quando o
+ * índice não acusa conflito, a validação é confirmada por uma única consulta que verifica as
+ * duas colunas (para um cadastro ou para um lote inteiro da importação), e o resultado
+ * realimenta o índice.
+ * </p>
+ * <p>
+ * É carregado na inicialização e mantido pelos serviços de Técnico e Cliente a cada gravação.
+ * </p>
+ */
+@Component
+public class IndiceCpfEmail {
+
+    private final Map<String, Integer> cpfs = new ConcurrentHashMap<>();
+    private final Map<String, Integer> emails = new ConcurrentHashMap<>();
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    /**
+     * Carrega o CPF e o e-mail de todas as pessoas quando a aplicação termina de subir.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        for (Object[] row : pessoaRepository.findCpfsEEmails()) {
+            registrar((Integer) row[0], (String) row[1], (String) row[2]);
+        }
+    }
+
+    /**
+     * Valida se o CPF ou o e-mail já pertencem a outra pessoa.
+     *
+     * @param id O ID da pessoa sendo gravada, ou {@code null} na criação.
+     * @param cpf O CPF informado.
+     * @param email O e-mail informado.
+     * @throws DataIntegrityViolationException Se o CPF ou o e-mail já estiverem em uso por outra pessoa.
+     */
+    public void validar(Integer id, String cpf, String email) {
+        verificar(id, cpf, email);
+        consultar(Collections.singleton(cpf), Collections.singleton(email));
+        verificar(id, cpf, email);
+    }
+
+    /**
+     * Verifica, apenas na memória, se o CPF ou o e-mail já pertencem a outra pessoa.
+     *
+     * @param id O ID da pessoa sendo gravada, ou {@code null} na criação.
+     * @param cpf O CPF informado.
+     * @param email O e-mail informado.
+     * @return A mensagem do conflito, ou {@code null} se não houver.
+     */
+    public String conflito(Integer id, String cpf, String email) {
+        Integer donoCpf = cpfs.get(cpf);
+        if (donoCpf != null && !donoCpf.equals(id)) {
+            return "CPF já cadastrado no sistema!";
+        }
+        Integer donoEmail = emails.get(email);
+        if (donoEmail != null && !donoEmail.equals(id)) {
+            return "E-mail já cadastrado no sistema!";
+        }
+        return null;
+    }
+
+    /**
+     * Busca no banco, em uma única consulta, as pessoas que usam algum dos CPFs ou e-mails
+     * informados e as registra no índice.
+     *
+     * @param cpfs Os CPFs a consultar.
+     * @param emails Os e-mails a consultar.
+     */
+    public void consultar(Collection<String> cpfs, Collection<String> emails) {
+        if (cpfs.isEmpty() && emails.isEmpty()) {
+            return;
+        }
+        for (Object[] row : pessoaRepository.findCpfsEEmailsByCpfInOrEmailIn(cpfs, emails)) {
+            registrar((Integer) row[0], (String) row[1], (String) row[2]);
+        }
+    }
+
+    /**
+     * Registra o CPF e o e-mail de uma pessoa criada.
+     *
+     * @param id O ID da pessoa.
+     * @param cpf O CPF gravado.
+     * @param email O e-mail gravado.
+     */
+    public void registrar(Integer id, String cpf, String email) {
+        cpfs.put(cpf, id);
+        emails.put(email, id);
+    }
+
+    /**
+     * Substitui o CPF e o e-mail de uma pessoa atualizada.
+     *
+     * @param id O ID da pessoa.
+     * @param cpfAnterior O CPF antes da atualização.
+     * @param emailAnterior O e-mail antes da atualização.
+     * @param cpf O CPF gravado.
+     * @param email O e-mail gravado.
+     */
+    public void substituir(Integer id, String cpfAnterior, String emailAnterior, String cpf, String email) {
+        remover(id, cpfAnterior, emailAnterior);
+        registrar(id, cpf, email);
+    }
+
+    /**
+     * Remove o CPF e o e-mail de uma pessoa excluída (ou os valores antigos de uma atualização).
+     *
+     * @param id O ID da pessoa.
+     * @param cpf O CPF a remover.
+     * @param email O e-mail a remover.
+     */
+    public void remover(Integer id, String cpf, String email) {
+        cpfs.remove(cpf, id);
+        emails.remove(email, id);
+    }
+
+    private void verificar(Integer id, String cpf, String email) {
+        String mensagem = conflito(id, cpf, email);
+        if (mensagem != null) {
+            throw new DataIntegrityViolationException(mensagem);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.turmab.helpdesk.service;
+
+import com.turmab.helpdesk.service.exceptions.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Monta a página pedida nas listagens de técnicos e clientes (parâmetros page, size e sort),
+ * aceitando apenas a ordenação pelas colunas exibidas.
+ */
+final class PaginacaoPessoas {
+
+    /**
+     * Tamanho de página usado quando size não é informado.
+     */
+    static final int TAMANHO_PADRAO = 50;
+
+    /**
+     * Maior tamanho de página aceito.
+     */
+    static final int TAMANHO_MAXIMO = 500;
+
+    private static final Set<String> ORDENAVEIS = new HashSet<>(Arrays.asList("id", "nome", "cpf", "email", "dataCriacao"));
+
+    private PaginacaoPessoas() {
+    }
+
+    /**
+     * @param page O número da página, a partir de 0 (opcional).
+     * @param size O tamanho da página (opcional, limitado a {@link #TAMANHO_MAXIMO}).
+     * @param sort A ordenação no formato <code>campo[,asc|desc]</code> (opcional; padrão id).
+     * @return A página pedida, desempatada pelo ID.
+     * @throws DataIntegrityViolationException Se a ordenação ou os números forem inválidos.
+     */
+    static PageRequest pagina(Integer page, Integer size, String sort) {
+        if ((page != null && page < 0) || (size != null && size < 1)) {
+            throw new DataIntegrityViolationException("Página inválida: page deve ser >= 0 e size >= 1");
+        }
+        Sort ordem = Sort.by("id");
+        if (sort != null && !sort.isEmpty()) {
+            String[] partes = sort.split(",");
+            String campo = partes[0].trim();
+            if (!ORDENAVEIS.contains(campo) || partes.length > 2) {
+                throw new DataIntegrityViolationException("Ordenação inválida: " + sort);
+            }
+            boolean desc = partes.length == 2 && "desc".equalsIgnoreCase(partes[1].trim());
+            ordem = (desc ? Sort.by(campo).descending() : Sort.by(campo)).and(Sort.by("id"));
+        }
+        int tamanho = size == null ? TAMANHO_PADRAO : Math.min(size, TAMANHO_MAXIMO);
+        return PageRequest.of(page == null ? 0 : page, tamanho, ordem);
+    }
+}
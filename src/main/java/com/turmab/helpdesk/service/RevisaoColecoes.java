@@ -0,0 +1,63 @@
+package com.turmab.helpdesk.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores de alteração das coleções de técnicos e clientes, usados para gerar as ETags
+ * das listagens sem consultar o banco de dados.
+ * <p>
+ * Cada criação, atualização ou exclusão incrementa o contador da coleção. O instante de
+ * inicialização entra na ETag para que os valores de uma execução anterior (quando os
+ * contadores recomeçam do zero) nunca sejam aceitos.
+ * </p>
+ */
+@Component
+public class RevisaoColecoes {
+
+    private final String inicio = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final AtomicLong tecnicos = new AtomicLong();
+
+    private final AtomicLong clientes = new AtomicLong();
+
+    /**
+     * Registra uma alteração na coleção de técnicos.
+     */
+    public void tecnicosAlterados() {
+        tecnicos.incrementAndGet();
+    }
+
+    /**
+     * Registra uma alteração na coleção de clientes.
+     */
+    public void clientesAlterados() {
+        clientes.incrementAndGet();
+    }
+
+    /**
+     * @return A ETag atual da listagem de técnicos.
+     */
+    public String etagTecnicos() {
+        return inicio + "-" + tecnicos.get();
+    }
+
+    /**
+     * @return A ETag atual da listagem de clientes.
+     */
+    public String etagClientes() {
+        return inicio + "-" + clientes.get();
+    }
+
+    /**
+     * Gera a ETag de um chamado. Além da versão do chamado, inclui os contadores de técnicos
+     * e clientes, pois o DTO traz os nomes de ambos, que mudam sem alterar a versão do chamado.
+     *
+     * @param versao A versão do chamado.
+     * @return A ETag do chamado.
+     */
+    public String etagChamado(Integer versao) {
+        return versao + "-" + inicio + "-" + tecnicos.get() + "-" + clientes.get();
+    }
+}
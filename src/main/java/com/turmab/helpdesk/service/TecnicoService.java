@@ -1,19 +1,34 @@
 package com.turmab.helpdesk.service;
 
-import com.turmab.helpdesk.domain.Pessoa;
 import com.turmab.helpdesk.domain.Tecnico;
+import com.turmab.helpdesk.domain.dtos.CargaTecnicoDTO;
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.dtos.ImportacaoDTO;
 import com.turmab.helpdesk.domain.dtos.TecnicoDTO;
-import com.turmab.helpdesk.repositories.PessoaRepository;
+import com.turmab.helpdesk.security.CacheUsuarios;
+import com.turmab.helpdesk.security.HashSenhas;
+import com.turmab.helpdesk.security.VersoesCredenciais;
+import com.turmab.helpdesk.repositories.ChamadoRepository;
 import com.turmab.helpdesk.repositories.TecnicoRepository;
 import com.turmab.helpdesk.service.exceptions.DataIntegrityViolationException;
 import com.turmab.helpdesk.service.exceptions.ObjectNotFoundException;
+import com.turmab.helpdesk.service.exceptions.TooManyRequestsException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Classe de serviço para gerenciar as operações de negócio relacionadas a Técnicos.
@@ -29,9 +44,23 @@ public class TecnicoService {
     @Autowired
     private TecnicoRepository repository;
     @Autowired
-    private PessoaRepository pessoaRepository;
+    private ChamadoRepository chamadoRepository;
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private IndiceCpfEmail indiceCpfEmail;
+    @Autowired
+    private ImportacaoPessoas importacao;
+    @Autowired
+    private HashSenhas passwordEncoder;
+    @Autowired
+    private RevisaoColecoes revisao;
+    @Autowired
+    private CacheUsuarios cacheUsuarios;
+    @Autowired
+    private VersoesCredenciais versoesCredenciais;
+    @Autowired
+    private FilaTecnicos filaTecnicos;
+    @Autowired
+    private CargaTecnicos cargaTecnicos;
 
     /**
      * Busca um técnico pelo seu ID.
@@ -46,28 +75,113 @@ public class TecnicoService {
     }
 
     /**
-     * Retorna uma lista com todas as entidades de Técnicos cadastradas.
-     * A conversão para DTO é feita na camada de Resource (Controller).
+     * Busca de uma só vez os técnicos com os IDs informados, indexados pelo ID.
+     *
+     * @param ids Os IDs a buscar.
+     * @return Um mapa ID -> Tecnico.
+     * @throws ObjectNotFoundException Se algum dos IDs não existir.
+     */
+    public Map<Integer, Tecnico> findAllById(Collection<Integer> ids) {
+        Map<Integer, Tecnico> result = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Tecnico::getId, Function.identity()));
+        for (Integer id : ids) {
+            if (!result.containsKey(id)) {
+                throw new ObjectNotFoundException("Técnico não encontrado! ID: " + id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retorna todos os técnicos cadastrados, ordenados pelo ID, já como DTOs.
+     * Uma única consulta traz apenas as colunas da listagem (sem a senha), incluindo a máscara de perfis.
+     *
+     * @return Uma lista de DTOs de técnicos.
+     */
+    public List<TecnicoDTO> findAll() {
+        return repository.findAllDTO();
+    }
+
+    /**
+     * Retorna uma página dos técnicos cadastrados, com a mesma projeção de {@link #findAll()}
+     * e uma consulta de contagem separada para o total.
+     *
+     * @param page O número da página, a partir de 0 (opcional).
+     * @param size O tamanho da página (opcional).
+     * @param sort A ordenação no formato <code>campo[,asc|desc]</code>, por id, nome, cpf, email ou dataCriacao (opcional).
+     * @return A página de DTOs de técnicos.
+     * @throws DataIntegrityViolationException Se a página ou a ordenação forem inválidas.
+     */
+    public Page<TecnicoDTO> findPage(Integer page, Integer size, String sort) {
+        return repository.findPageDTO(PaginacaoPessoas.pagina(page, size, sort));
+    }
+
+    /**
+     * Retorna a fila de trabalho de um técnico: seus chamados ABERTO/ANDAMENTO, ordenados por
+     * prioridade (ALTA primeiro) e data de abertura. Atendida a partir da memória, sem consultar o banco.
+     *
+     * @param id O ID do técnico.
+     * @return A lista de DTOs dos chamados em aberto, em ordem de atendimento.
+     */
+    public List<ChamadoDTO> findFila(Integer id) {
+        return filaTecnicos.listar(id);
+    }
+
+    /**
+     * Retorna a carga de trabalho de todos os técnicos (chamados ABERTO/ANDAMENTO, no total e por
+     * prioridade), do menos para o mais ocupado. Vem de uma única consulta agrupada, guardada por
+     * alguns segundos ou até a próxima gravação de chamado ou técnico.
+     *
+     * @return A lista de DTOs de carga.
+     */
+    public List<CargaTecnicoDTO> findCarga() {
+        return cargaTecnicos.listar();
+    }
+
+    /**
+     * Retorna a ETag atual da listagem de técnicos, que muda a cada criação, atualização ou exclusão.
      *
-     * @return Uma lista de entidades Tecnico.
+     * @return A ETag da listagem.
      */
-    public List<Tecnico> findAll() {
-        return repository.findAll();
+    public String etag() {
+        return revisao.etagTecnicos();
     }
 
     /**
      * Cria um novo técnico no sistema a partir de um DTO.
-     * A senha é criptografada antes de ser salva.
+     * A senha é criptografada antes de ser salva, após as validações de CPF e e-mail.
      *
      * @param objDTO O DTO contendo os dados do novo técnico.
      * @return A entidade Tecnico que foi persistida no banco de dados.
+     * @throws TooManyRequestsException Se a fila de hashes de senha estiver cheia.
      */
     public Tecnico create(TecnicoDTO objDTO) {
         objDTO.setId(null); // Garante que estamos criando uma nova instância
+        validaPorCpfEEmail(objDTO); // Valida antes do hash, que é a parte cara
         objDTO.setSenha(passwordEncoder.encode(objDTO.getSenha())); // Criptografa a senha
-        validaPorCpfEEmail(objDTO);
-        Tecnico newObj = new Tecnico(objDTO);
-        return repository.save(newObj);
+        Tecnico newObj = repository.save(new Tecnico(objDTO));
+        revisao.tecnicosAlterados();
+        cargaTecnicos.invalidar();
+        versoesCredenciais.atualizar(newObj.getId(), newObj.getVersaoCredenciais());
+        indiceCpfEmail.registrar(newObj.getId(), newObj.getCpf(), newObj.getEmail());
+        return newObj;
+    }
+
+    /**
+     * Importa técnicos de um arquivo CSV, em lotes, sem carregar o arquivo inteiro em memória.
+     * As linhas recusadas (campos ausentes, CPF ou e-mail repetidos ou já cadastrados) são
+     * informadas no relatório, e as demais são gravadas.
+     *
+     * @param csv O conteúdo do arquivo CSV (cabeçalho nome, cpf, email, senha), em UTF-8.
+     * @return O relatório da importação.
+     * @throws IOException Se a leitura do arquivo falhar.
+     * @throws TooManyRequestsException Se a fila de hashes de senha estiver cheia.
+     */
+    public ImportacaoDTO importar(InputStream csv) throws IOException {
+        return importacao.importar(csv, Tecnico::new, () -> {
+            revisao.tecnicosAlterados();
+            cargaTecnicos.invalidar();
+        });
     }
 
     /**
@@ -76,13 +190,26 @@ public class TecnicoService {
      * @param id O ID do técnico a ser atualizado.
      * @param objDTO O DTO com os novos dados para o técnico.
      * @return A entidade Tecnico atualizada.
+     * @throws TooManyRequestsException Se a fila de hashes de senha estiver cheia.
      */
     public Tecnico update(Integer id, @Valid TecnicoDTO objDTO) {
         objDTO.setId(id);
         Tecnico oldObj = findById(id);
         validaPorCpfEEmail(objDTO);
-        oldObj = new Tecnico(objDTO);
-        return repository.save(oldObj);
+        if (!objDTO.getSenha().equals(oldObj.getSenha())) {
+            objDTO.setSenha(passwordEncoder.encode(objDTO.getSenha())); // Só recalcula o hash se a senha mudou
+        }
+        String cpfAnterior = oldObj.getCpf();
+        String emailAnterior = oldObj.getEmail();
+        Tecnico newObj = new Tecnico(objDTO);
+        newObj.setVersaoCredenciais(oldObj.getVersaoCredenciais() + 1); // Invalida os tokens já emitidos
+        oldObj = repository.save(newObj);
+        revisao.tecnicosAlterados();
+        cargaTecnicos.invalidar();
+        cacheUsuarios.invalidar(emailAnterior, oldObj.getEmail());
+        versoesCredenciais.atualizar(id, oldObj.getVersaoCredenciais());
+        indiceCpfEmail.substituir(id, cpfAnterior, emailAnterior, oldObj.getCpf(), oldObj.getEmail());
+        return oldObj;
     }
 
 
@@ -95,28 +222,63 @@ public class TecnicoService {
      */
     public void delete(Integer id) {
         Tecnico obj = findById(id);
-        if (obj.getChamados().size() > 0) {
+        if (chamadoRepository.existsByTecnicoId(id)) {
             throw new DataIntegrityViolationException("Técnico possui ordens de serviço e não pode ser deletado!");
         }
         repository.deleteById(id);
+        removido(obj);
     }
 
     /**
-     * Valida se o CPF ou E-mail fornecido já existem na base de dados,
+     * Transfere todos os chamados de um técnico para outro e deleta o técnico, na mesma transação.
+     * A transferência é um único UPDATE no banco, sem carregar os chamados; a versão de cada
+     * chamado é incrementada. As filas e demais estruturas em memória só são atualizadas depois
+     * do commit, para não divergirem do banco se a transação falhar.
+     *
+     * @param id O ID do técnico a ser deletado.
+     * @param destino O ID do técnico que recebe os chamados.
+     * @return A quantidade de chamados transferidos.
+     * @throws ObjectNotFoundException Se algum dos técnicos não existir.
+     * @throws DataIntegrityViolationException Se o técnico de destino for o próprio técnico deletado.
+     */
+    @Transactional
+    public int reatribuirEDeletar(Integer id, Integer destino) {
+        if (id.equals(destino)) {
+            throw new DataIntegrityViolationException("O técnico de destino deve ser diferente do técnico deletado!");
+        }
+        Tecnico obj = findById(id);
+        Tecnico novoTecnico = findById(destino);
+        int transferidos = chamadoRepository.reatribuir(id, destino);
+        repository.deleteById(id);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                filaTecnicos.reatribuir(id, destino, novoTecnico.getNome());
+                removido(obj);
+            }
+        });
+        return transferidos;
+    }
+
+    /**
+     * Atualiza as estruturas em memória após a exclusão de um técnico.
+     */
+    private void removido(Tecnico obj) {
+        revisao.tecnicosAlterados();
+        cargaTecnicos.invalidar();
+        cacheUsuarios.invalidar(obj.getEmail());
+        versoesCredenciais.remover(obj.getId());
+        indiceCpfEmail.remover(obj.getId(), obj.getCpf(), obj.getEmail());
+    }
+
+    /**
+     * Valida se o CPF ou E-mail fornecido já existem, pelo {@link IndiceCpfEmail},
      * ignorando o próprio ID do usuário em caso de atualização.
      *
      * @param objDTO O DTO do técnico contendo CPF e E-mail.
      * @throws DataIntegrityViolationException Se o CPF ou E-mail já estiverem em uso por outro usuário.
      */
     private void validaPorCpfEEmail(TecnicoDTO objDTO) {
-        Optional<Pessoa> obj = pessoaRepository.findByCpf(objDTO.getCpf());
-        if (obj.isPresent() && obj.get().getId() != objDTO.getId()) {
-            throw new DataIntegrityViolationException("CPF já cadastrado no sistema!");
-        }
-
-        obj = pessoaRepository.findByEmail(objDTO.getEmail());
-        if (obj.isPresent() && obj.get().getId() != objDTO.getId()) {
-            throw new DataIntegrityViolationException("E-mail já cadastrado no sistema!");
-        }
+        indiceCpfEmail.validar(objDTO.getId(), objDTO.getCpf(), objDTO.getEmail());
     }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.turmab.helpdesk.service.exceptions;
+
+/**
+ * Exceção lançada quando uma alteração é baseada em uma versão desatualizada do objeto,
+ * ou seja, outro usuário o modificou depois que ele foi lido.
+ * <p>
+ * É tratada como HTTP 409 (Conflict): o cliente deve recarregar o objeto e tentar novamente.
+ * </p>
+ */
+public class ConflictException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public ConflictException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	public ConflictException(String message) {
+		super(message);
+	}
+}
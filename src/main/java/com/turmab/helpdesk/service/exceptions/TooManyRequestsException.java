@@ -0,0 +1,21 @@
+package com.turmab.helpdesk.service.exceptions;
+
+/**
+ * Exceção lançada quando o servidor está sobrecarregado e recusa a operação
+ * (ex.: a fila de cálculo de hashes de senha está cheia).
+ * <p>
+ * É tratada como HTTP 429 (Too Many Requests): o cliente deve tentar novamente mais tarde.
+ * </p>
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public TooManyRequestsException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	public TooManyRequestsException(String message) {
+		super(message);
+	}
+}
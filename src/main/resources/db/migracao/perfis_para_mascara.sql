@@ -0,0 +1,16 @@
+-- Migra os perfis da tabela PERFIS (uma linha por perfil, com o codigo do Perfil: ADMIN = 0,
+-- CLIENTE = 1, TECNICO = 2) para a coluna PESSOA.PERFIS, uma mascara de bits com o bit
+-- (1 << codigo) de cada perfil (ADMIN = 1, CLIENTE = 2, TECNICO = 4), lida pelo ConversorPerfis.
+--
+-- Necessario apenas em bancos persistentes criados antes desta mudanca; com
+-- spring.jpa.hibernate.ddl-auto=create (H2 em memoria) o esquema ja e criado no formato novo.
+-- Executar uma unica vez, com a aplicacao parada.
+
+ALTER TABLE pessoa ADD COLUMN perfis INTEGER DEFAULT 0 NOT NULL;
+
+UPDATE pessoa SET perfis = COALESCE((
+    SELECT SUM(CASE pf.perfis WHEN 0 THEN 1 WHEN 1 THEN 2 WHEN 2 THEN 4 ELSE 0 END)
+    FROM perfis pf
+    WHERE pf.pessoa_id = pessoa.id), 0);
+
+DROP TABLE perfis;
@@ -0,0 +1,61 @@
+package com.turmab.helpdesk.resources;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * Garante que o access token do login tem vida curta e que um token revogado no logout deixa de ser aceito.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthResourceTest {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Test
+	void tokenDoLoginExpiraEm15Minutos() throws Exception {
+		String token = login().substring("Bearer ".length());
+		String payload = new String(Base64.getUrlDecoder().decode(token.split("\\.")[1]), StandardCharsets.UTF_8);
+		long exp = JsonPath.<Number>read(payload, "$.exp").longValue();
+
+		long restante = exp - System.currentTimeMillis() / 1000;
+		assertTrue(restante > 840 && restante <= 900, "exp deveria estar ~15 min à frente, mas faltam " + restante + " s");
+	}
+
+	@Test
+	void tokenRevogadoNoLogoutRetorna401() throws Exception {
+		String authorization = login();
+
+		mvc.perform(get("/chamados").header(HttpHeaders.AUTHORIZATION, authorization))
+				.andExpect(status().isOk());
+
+		mvc.perform(post("/auth/logout").header(HttpHeaders.AUTHORIZATION, authorization))
+				.andExpect(status().isNoContent());
+
+		mvc.perform(get("/chamados").header(HttpHeaders.AUTHORIZATION, authorization))
+				.andExpect(status().isUnauthorized());
+	}
+
+	private String login() throws Exception {
+		return mvc.perform(post("/login").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"email\": \"steve@mail.com\", \"senha\": \"123\"}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.AUTHORIZATION);
+	}
+}
@@ -0,0 +1,110 @@
+package com.turmab.helpdesk.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * Garante que as leituras de chamados usam a projeção de uma única consulta,
+ * sem carregar Tecnico ou Cliente, e que o PATCH respeita a versão lida.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@WithMockUser
+class ChamadoResourceTest {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void findAllExecutaUmaUnicaConsulta() throws Exception {
+		mvc.perform(get("/chamados"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].nomeTecnico").exists())
+				.andExpect(jsonPath("$[0].nomeCliente").exists());
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+
+	@Test
+	void findByIdExecutaUmaUnicaConsulta() throws Exception {
+		mvc.perform(get("/chamados/1"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.id").value(1))
+				.andExpect(jsonPath("$.nomeTecnico").exists());
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+
+	@Test
+	void findPageExecutaUmaUnicaConsulta() throws Exception {
+		mvc.perform(get("/chamados").param("limit", "1"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1));
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void patchAlteraApenasOsCamposInformadosEIncrementaAVersao() throws Exception {
+		String atual = mvc.perform(get("/chamados/2")).andReturn().getResponse().getContentAsString();
+		int versao = JsonPath.read(atual, "$.versao");
+		String titulo = JsonPath.read(atual, "$.titulo");
+
+		mvc.perform(patch("/chamados/2").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"prioridade\": 2, \"versao\": " + versao + "}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.prioridade").value(2))
+				.andExpect(jsonPath("$.versao").value(versao + 1))
+				.andExpect(jsonPath("$.titulo").value(titulo));
+
+		mvc.perform(get("/chamados/2"))
+				.andExpect(jsonPath("$.prioridade").value(2))
+				.andExpect(jsonPath("$.versao").value(versao + 1))
+				.andExpect(jsonPath("$.titulo").value(titulo));
+	}
+
+	@Test
+	void patchComVersaoDesatualizadaRetornaConflito() throws Exception {
+		String atual = mvc.perform(get("/chamados/2")).andReturn().getResponse().getContentAsString();
+		int versao = JsonPath.read(atual, "$.versao");
+
+		mvc.perform(patch("/chamados/2").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"titulo\": \"Obsoleto\", \"versao\": " + (versao - 1) + "}"))
+				.andExpect(status().isConflict());
+
+		mvc.perform(get("/chamados/2"))
+				.andExpect(jsonPath("$.versao").value(versao))
+				.andExpect(jsonPath("$.titulo").value(JsonPath.<String>read(atual, "$.titulo")));
+	}
+}
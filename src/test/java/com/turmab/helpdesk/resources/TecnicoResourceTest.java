@@ -0,0 +1,89 @@
+package com.turmab.helpdesk.resources;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Garante que a exclusão com reatribuição transfere os chamados, incrementa a versão de cada um
+ * e atualiza as filas em memória após o commit.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class TecnicoResourceTest {
+
+	/**
+	 * Cliente criado pelo DBService.
+	 */
+	private static final int CLIENTE = 3;
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Test
+	void reatribuirEDeletarTransfereOsChamadosEIncrementaAVersao() throws Exception {
+		int origem = criarTecnico("Origem", "900.000.000-01", "origem@mail.com");
+		int destino = criarTecnico("Destino", "900.000.000-02", "destino@mail.com");
+		int aberto = criarChamado(origem, 0);
+		int encerrado = criarChamado(origem, 2);
+
+		mvc.perform(delete("/tecnicos/" + origem).param("reatribuirPara", String.valueOf(destino)))
+				.andExpect(status().isNoContent());
+
+		mvc.perform(get("/chamados/" + aberto))
+				.andExpect(jsonPath("$.tecnico").value(destino))
+				.andExpect(jsonPath("$.nomeTecnico").value("Destino"))
+				.andExpect(jsonPath("$.versao").value(1));
+		mvc.perform(get("/chamados/" + encerrado))
+				.andExpect(jsonPath("$.tecnico").value(destino))
+				.andExpect(jsonPath("$.versao").value(1));
+		mvc.perform(get("/tecnicos/" + origem)).andExpect(status().isNotFound());
+
+		mvc.perform(get("/tecnicos/" + destino + "/fila"))
+				.andExpect(jsonPath("$.length()").value(1))
+				.andExpect(jsonPath("$[0].id").value(aberto))
+				.andExpect(jsonPath("$[0].versao").value(1));
+		mvc.perform(get("/tecnicos/" + origem + "/fila")).andExpect(jsonPath("$.length()").value(0));
+	}
+
+	@Test
+	void reatribuirParaOProprioTecnicoRetorna400() throws Exception {
+		int tecnico = criarTecnico("Mesmo", "900.000.000-03", "mesmo@mail.com");
+
+		mvc.perform(delete("/tecnicos/" + tecnico).param("reatribuirPara", String.valueOf(tecnico)))
+				.andExpect(status().isBadRequest());
+		mvc.perform(get("/tecnicos/" + tecnico)).andExpect(status().isOk());
+	}
+
+	private int criarTecnico(String nome, String cpf, String email) throws Exception {
+		return id(mvc.perform(post("/tecnicos").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\": \"" + nome + "\", \"cpf\": \"" + cpf + "\", \"email\": \"" + email
+						+ "\", \"senha\": \"123\"}"))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getHeader(HttpHeaders.LOCATION));
+	}
+
+	private int criarChamado(int tecnico, int status) throws Exception {
+		return id(mvc.perform(post("/chamados").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"prioridade\": 1, \"status\": " + status + ", \"titulo\": \"Reatribuir\", "
+						+ "\"observacoes\": \"Teste\", \"tecnico\": " + tecnico + ", \"cliente\": " + CLIENTE + "}"))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getHeader(HttpHeaders.LOCATION));
+	}
+
+	private static int id(String location) {
+		return Integer.parseInt(location.substring(location.lastIndexOf('/') + 1));
+	}
+}
@@ -0,0 +1,88 @@
+package com.turmab.helpdesk.security;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.turmab.helpdesk.HelpdeskturmabApplication;
+import com.turmab.helpdesk.domain.enums.Perfil;
+
+/**
+ * Mede o caminho de carga do usuário no login e nas requisições autenticadas:
+ * {@link UserDetailsServiceImpl#loadUserByUsername} sem o {@link CacheUsuarios} (validade 0, ou seja,
+ * sempre consultando o banco) e a montagem do {@link UserSS} com suas authorities.
+ * <p>
+ * A aplicação sobe inteira (H2 em memória, dados do DBService) uma vez por fork.
+ * </p>
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) com.turmab.helpdesk.security.CarregarUsuarioBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CarregarUsuarioBenchmark {
+
+    private static final String EMAIL = "bill@mail.com";
+    private static final Set<Perfil> PERFIS = EnumSet.of(Perfil.ADMIN, Perfil.CLIENTE, Perfil.TECNICO);
+
+    private ConfigurableApplicationContext contexto;
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Setup
+    public void setup() {
+        // O carregamento imprime uma linha de depuração por chamada
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        contexto = new SpringApplicationBuilder(HelpdeskturmabApplication.class)
+                .run("--server.port=0", "--usuarios.cache.ttl-ms=0", "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        userDetailsService = contexto.getBean(UserDetailsServiceImpl.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return userDetailsService.loadUserByUsername(EMAIL);
+    }
+
+    @Benchmark
+    public UserSS montarUserSS() {
+        return new UserSS(1, EMAIL, "senha", PERFIS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CarregarUsuarioBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,149 @@
+package com.turmab.helpdesk.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/**
+ * Garante que o {@link CodecJWT} é compatível com o jjwt nos dois sentidos e recusa tokens
+ * adulterados ou fora do formato HS512.
+ */
+class CodecJWTTest {
+
+	private static final String SECRET = "seu-segredo-super-secreto-e-longo-aqui";
+	private static final String EMAIL = "bill@mail.com";
+
+	private final CodecJWT codec = new CodecJWT(SECRET.getBytes(), new ObjectMapper());
+
+	@Test
+	void verificaTokenGeradoPeloJjwt() {
+		Date expiracao = new Date((System.currentTimeMillis() / 1000 + 900) * 1000);
+		String token = Jwts.builder().setSubject(EMAIL).setId("jti-1").setExpiration(expiracao)
+				.signWith(SignatureAlgorithm.HS512, SECRET.getBytes()).compact();
+
+		Claims claims = codec.verificar(token);
+		assertNotNull(claims);
+		assertEquals(EMAIL, claims.getSubject());
+		assertEquals("jti-1", claims.getId());
+		assertEquals(expiracao, claims.getExpiration());
+	}
+
+	@Test
+	void jjwtVerificaTokenGeradoPeloCodec() {
+		long exp = System.currentTimeMillis() / 1000 + 900;
+		String token = codec.gerar(claims(exp));
+
+		Claims claims = Jwts.parser().setSigningKey(SECRET.getBytes()).parseClaimsJws(token).getBody();
+		assertEquals(EMAIL, claims.getSubject());
+		assertEquals("jti-1", claims.getId());
+		assertEquals(exp * 1000, claims.getExpiration().getTime());
+	}
+
+	@Test
+	void recusaAssinaturaOuPayloadAdulterados() {
+		String token = codec.gerar(claims(System.currentTimeMillis() / 1000 + 900));
+		int inicioAssinatura = token.lastIndexOf('.') + 1;
+
+		assertNull(codec.verificar(trocar(token, inicioAssinatura + 10)));
+		assertNull(codec.verificar(trocar(token, token.indexOf('.') + 5)));
+		assertNull(new CodecJWT("outro-segredo".getBytes(), new ObjectMapper()).verificar(token));
+	}
+
+	@Test
+	void recusaOutrosCabecalhos() {
+		String payload = base64("{\"sub\":\"" + EMAIL + "\"}");
+
+		assertNull(codec.verificar(base64("{\"alg\":\"none\"}") + '.' + payload + '.'));
+		assertNull(codec.verificar(base64("{\"alg\":\"HS512\",\"typ\":\"JWT\"}") + '.' + payload + '.'
+				+ assinar(base64("{\"alg\":\"HS512\",\"typ\":\"JWT\"}") + '.' + payload)));
+		assertNull(codec.verificar(Jwts.builder().setSubject(EMAIL)
+				.signWith(SignatureAlgorithm.HS256, SECRET.getBytes()).compact()));
+	}
+
+	@Test
+	void recusaSegmentosAMaisOuAMenos() {
+		String token = codec.gerar(claims(System.currentTimeMillis() / 1000 + 900));
+
+		assertNull(codec.verificar(token + ".extra"));
+		assertNull(codec.verificar(token.substring(0, token.lastIndexOf('.'))));
+		assertNull(codec.verificar(null));
+		assertNull(codec.verificar(""));
+	}
+
+	@Test
+	void recusaBase64Invalido() {
+		String token = codec.gerar(claims(System.currentTimeMillis() / 1000 + 900));
+		String conteudo = token.substring(0, token.lastIndexOf('.'));
+
+		// Assinatura com caractere fora do alfabeto base64url
+		assertNull(codec.verificar(conteudo + ".*" + token.substring(token.lastIndexOf('.') + 2)));
+		// Payload que não é base64url, com assinatura válida sobre ele
+		String cabecalho = token.substring(0, token.indexOf('.'));
+		assertNull(codec.verificar(cabecalho + ".@@@." + assinar(cabecalho + ".@@@")));
+		// Payload em base64url válido, mas que não é JSON
+		String naoJson = cabecalho + '.' + base64("nao-e-json");
+		assertNull(codec.verificar(naoJson + '.' + assinar(naoJson)));
+	}
+
+	@Test
+	void getClaimsValidasRecusaTokenExpirado() {
+		JWTUtil jwtUtil = new JWTUtil();
+		ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+		ReflectionTestUtils.setField(jwtUtil, "objectMapper", new ObjectMapper());
+		jwtUtil.init();
+
+		ReflectionTestUtils.setField(jwtUtil, "expiration", 60000L);
+		assertNotNull(jwtUtil.getClaimsValidas(jwtUtil.generateToken(EMAIL)));
+
+		ReflectionTestUtils.setField(jwtUtil, "expiration", -60000L);
+		String expirado = jwtUtil.generateToken(EMAIL);
+		assertNotNull(codec.verificar(expirado));
+		assertNull(jwtUtil.getClaimsValidas(expirado));
+	}
+
+	private Map<String, Object> claims(long exp) {
+		Map<String, Object> claims = new LinkedHashMap<>();
+		claims.put(Claims.SUBJECT, EMAIL);
+		claims.put(Claims.ID, "jti-1");
+		claims.put(Claims.EXPIRATION, exp);
+		return claims;
+	}
+
+	private static String trocar(String token, int posicao) {
+		char c = token.charAt(posicao);
+		return token.substring(0, posicao) + (c == 'A' ? 'B' : 'A') + token.substring(posicao + 1);
+	}
+
+	private static String base64(String json) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String assinar(String conteudo) {
+		try {
+			Mac mac = Mac.getInstance("HmacSHA512");
+			mac.init(new SecretKeySpec(SECRET.getBytes(), "HmacSHA512"));
+			return Base64.getUrlEncoder().withoutPadding()
+					.encodeToString(mac.doFinal(conteudo.getBytes(StandardCharsets.US_ASCII)));
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.turmab.helpdesk.security;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/**
+ * Compara a geração e a verificação de tokens do {@link CodecJWT} com a implementação anterior do
+ * JWTUtil (jjwt com novo parser e <code>secret.getBytes()</code> a cada chamada).
+ * <p>
+ * Execução, com o profiler de GC para a taxa de alocação (gc.alloc.rate.norm = bytes por operação):
+ * </p>
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) com.turmab.helpdesk.security.JWTBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(2)
+public class JWTBenchmark {
+
+    private static final String SECRET = "seu-segredo-super-secreto-e-longo-aqui";
+    private static final String EMAIL = "bill@mail.com";
+    private static final long EXPIRATION = 900000;
+
+    private CodecJWT codec;
+    private String token;
+
+    @Setup
+    public void setup() {
+        codec = new CodecJWT(SECRET.getBytes(), new ObjectMapper());
+        token = jjwtGerar();
+    }
+
+    @Benchmark
+    public String jjwtGerar() {
+        return Jwts.builder()
+                .setSubject(EMAIL)
+                .setId(UUID.randomUUID().toString())
+                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
+                .signWith(SignatureAlgorithm.HS512, SECRET.getBytes())
+                .compact();
+    }
+
+    @Benchmark
+    public Claims jjwtVerificar() {
+        return Jwts.parser().setSigningKey(SECRET.getBytes()).parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public String codecGerar() {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put(Claims.SUBJECT, EMAIL);
+        claims.put(Claims.ID, UUID.randomUUID().toString());
+        claims.put(Claims.EXPIRATION, (System.currentTimeMillis() + EXPIRATION) / 1000);
+        return codec.gerar(claims);
+    }
+
+    @Benchmark
+    public Claims codecVerificar() {
+        return codec.verificar(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JWTBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,45 @@
+package com.turmab.helpdesk.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.turmab.helpdesk.domain.dtos.ChamadoDTO;
+import com.turmab.helpdesk.domain.enums.Prioridade;
+import com.turmab.helpdesk.domain.enums.Status;
+
+/**
+ * Garante que as filas descartam versões de um chamado que chegam depois de outra mais nova.
+ */
+class FilaTecnicosTest {
+
+	private final FilaTecnicos filas = new FilaTecnicos();
+
+	@Test
+	void versaoAntigaNaoSubstituiAMaisNova() {
+		filas.atualizar(chamado(1, Prioridade.ALTA, Status.ABERTO, 3));
+		filas.atualizar(chamado(1, Prioridade.BAIXA, Status.ABERTO, 2));
+
+		List<ChamadoDTO> fila = filas.listar(1);
+		assertEquals(1, fila.size());
+		assertEquals(3, fila.get(0).getVersao());
+	}
+
+	@Test
+	void chamadoEncerradoNaoVoltaParaAFila() {
+		filas.atualizar(chamado(1, Prioridade.MEDIA, Status.ABERTO, 1));
+		filas.atualizar(chamado(1, Prioridade.MEDIA, Status.ENCERRADO, 3));
+		filas.atualizar(chamado(1, Prioridade.ALTA, Status.ANDAMENTO, 2));
+
+		assertTrue(filas.listar(1).isEmpty());
+	}
+
+	private ChamadoDTO chamado(int id, Prioridade prioridade, Status status, int versao) {
+		return new ChamadoDTO(id, LocalDate.now(), null, prioridade, status, "Titulo", "Observacoes",
+				1, "Tecnico", 3, "Cliente", versao);
+	}
+}